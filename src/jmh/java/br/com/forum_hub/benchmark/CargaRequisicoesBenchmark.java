@@ -0,0 +1,72 @@
+package br.com.forum_hub.benchmark;
+
+import br.com.forum_hub.ForumHubApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// sobe a aplicação numa porta livre contra o MySQL configurado (DB_USERNAME/DB_PASSWORD) e dispara GETs concorrentes;
+// SampleTime reporta os percentis (p99 incluso) e Throughput as requisições por segundo de cada modo
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(400)
+@Fork(1)
+public class CargaRequisicoesBenchmark {
+
+    // os dois modos usam o perfil "virtual" para terem o mesmo pool de conexões; só o tipo de thread muda.
+    // a flag vai como argumento de linha de comando porque properties() do builder tem precedência menor que o perfil
+    @Param({"false", "true"})
+    public boolean threadsVirtuais;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private String base;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ForumHubApplication.class)
+                .profiles("virtual")
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + threadsVirtuais);
+        base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    // páginas a partir da 5ª ficam fora do cache de páginas, então toda requisição vai ao banco
+    @Benchmark
+    public int listarTopicos() throws IOException, InterruptedException {
+        var pagina = ThreadLocalRandom.current().nextInt(5, 50);
+        var requisicao = HttpRequest.newBuilder(URI.create(base + "/topicos?total=false&page=" + pagina)).GET().build();
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+}
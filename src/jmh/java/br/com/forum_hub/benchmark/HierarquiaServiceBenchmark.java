@@ -0,0 +1,58 @@
+package br.com.forum_hub.benchmark;
+
+import br.com.forum_hub.domain.autenticacao.HierarquiaService;
+import br.com.forum_hub.domain.perfil.PerfilNome;
+import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.seguranca.ConfiguracoesSeguranca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarquiaServiceBenchmark {
+
+    private HierarquiaService hierarquiaService;
+    private Usuario autor;
+    private Usuario estudante;
+    private Usuario moderador;
+
+    @Setup
+    public void preparar() {
+        // usa a mesma definição de hierarquia que a aplicação registra como bean
+        hierarquiaService = new HierarquiaService(new ConfiguracoesSeguranca(null).hierarquiaPerfis());
+
+        autor = new Usuario(1L, "autor@forumhub.com.br", "autor", List.of(PerfilNome.ESTUDANTE));
+        estudante = new Usuario(2L, "estudante@forumhub.com.br", "estudante", List.of(PerfilNome.ESTUDANTE));
+        moderador = new Usuario(3L, "moderador@forumhub.com.br", "moderador", List.of(PerfilNome.MODERADOR));
+    }
+
+    @Benchmark
+    public boolean autorDoConteudo() {
+        return hierarquiaService.usuarioNaoTemPermissoes(autor, autor, PerfilNome.MODERADOR);
+    }
+
+    @Benchmark
+    public boolean estudanteSemPermissao() {
+        return hierarquiaService.usuarioNaoTemPermissoes(estudante, autor, PerfilNome.MODERADOR);
+    }
+
+    @Benchmark
+    public boolean moderadorPelaHierarquia() {
+        return hierarquiaService.usuarioNaoTemPermissoes(moderador, autor, PerfilNome.INSTRUTOR);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.forum_hub.benchmark;
+
+import br.com.forum_hub.ForumHubApplication;
+import br.com.forum_hub.domain.perfil.PerfilNome;
+import br.com.forum_hub.domain.resposta.DadosCadastroResposta;
+import br.com.forum_hub.domain.resposta.RespostaService;
+import br.com.forum_hub.domain.topico.DadosCadastroTopico;
+import br.com.forum_hub.domain.topico.TopicoService;
+import br.com.forum_hub.domain.usuario.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// sobe o contexto do Spring contra o MySQL configurado (DB_USERNAME/DB_PASSWORD): mede o caminho completo até o banco
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsercaoRespostasBenchmark {
+
+    private static final int RESPOSTAS = 10_000;
+
+    // 1 = POST /topicos/{id}/respostas uma a uma; 1000 = POST /topicos/{id}/respostas/batch
+    @Param({"1", "1000"})
+    public int tamanhoLote;
+
+    private ConfigurableApplicationContext contexto;
+    private JdbcTemplate jdbcTemplate;
+    private TopicoService topicoService;
+    private RespostaService respostaService;
+
+    private Usuario autor;
+    private Long idCurso;
+    private Long idTopico;
+    private List<DadosCadastroResposta> respostas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ForumHubApplication.class).web(WebApplicationType.NONE).run();
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        topicoService = contexto.getBean(TopicoService.class);
+        respostaService = contexto.getBean(RespostaService.class);
+
+        var sufixo = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO usuarios (email, senha, nome_completo, nome_usuario) VALUES (?, 'x', 'Benchmark', ?)",
+                sufixo + "@benchmark.com", "benchmark-" + sufixo);
+        var idUsuario = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE email = ?", Long.class, sufixo + "@benchmark.com");
+        autor = new Usuario(idUsuario, sufixo + "@benchmark.com", "benchmark-" + sufixo, List.of(PerfilNome.ESTUDANTE));
+
+        jdbcTemplate.update("INSERT INTO cursos (nome, categoria) VALUES (?, 'PROGRAMACAO')", "Curso benchmark " + sufixo);
+        idCurso = jdbcTemplate.queryForObject("SELECT id FROM cursos WHERE nome = ?", Long.class, "Curso benchmark " + sufixo);
+
+        respostas = IntStream.range(0, RESPOSTAS).mapToObj(i -> new DadosCadastroResposta("Resposta de benchmark " + i)).toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void criarTopico() {
+        idTopico = topicoService.cadastrar(new DadosCadastroTopico("Tópico de benchmark", "Mensagem", idCurso), autor).getId();
+    }
+
+    @Benchmark
+    public void inserir() {
+        if (tamanhoLote == 1) {
+            respostas.forEach(resposta -> respostaService.cadastrar(resposta, idTopico, autor));
+            return;
+        }
+
+        for (var inicio = 0; inicio < RESPOSTAS; inicio += tamanhoLote)
+            respostaService.cadastrarEmLote(respostas.subList(inicio, Math.min(inicio + tamanhoLote, RESPOSTAS)), idTopico, autor);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        // o usuário é apagado em cascata junto com tópicos e respostas
+        jdbcTemplate.update("DELETE FROM usuarios WHERE id = ?", autor.getId());
+        jdbcTemplate.update("DELETE FROM cursos WHERE id = ?", idCurso);
+        contexto.close();
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.forum_hub.benchmark;
+
+import br.com.forum_hub.domain.curso.Curso;
+import br.com.forum_hub.domain.perfil.PerfilNome;
+import br.com.forum_hub.domain.resposta.DadosListagemResposta;
+import br.com.forum_hub.domain.topico.DadosCadastroTopico;
+import br.com.forum_hub.domain.topico.DadosDetalhesTopico;
+import br.com.forum_hub.domain.topico.DadosListagemTopico;
+import br.com.forum_hub.domain.topico.Status;
+import br.com.forum_hub.domain.topico.Topico;
+import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.paginacao.CursorPaginacao;
+import br.com.forum_hub.infra.paginacao.DadosPaginaCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoTopicoBenchmark {
+
+    @Param({"10", "50"})
+    public int tamanhoPagina;
+
+    @Param({"20"})
+    public int respostasPorTopico;
+
+    private ObjectMapper mapper;
+    private List<Topico> topicos;
+    private Object[][] linhasRespostas;
+    private DadosListagemTopico topicoDetalhado;
+    private DadosDetalhesTopico detalhes;
+    private Page<DadosListagemTopico> pagina;
+
+    @Setup
+    public void preparar() {
+        // mesmo conjunto de módulos que o Spring Boot registra (JavaTimeModule, Jdk8Module, ...)
+        mapper = JsonMapper.builder().findAndAddModules().build();
+
+        var autor = new Usuario(1L, "autor@forumhub.com.br", "autor", List.of(PerfilNome.ESTUDANTE));
+        var curso = new Curso();
+
+        topicos = new ArrayList<>();
+        for (int i = 0; i < tamanhoPagina; i++) {
+            var dados = new DadosCadastroTopico("Título do tópico " + i, "Mensagem do tópico ".repeat(20) + i, 1L);
+            topicos.add(new Topico(dados, curso, autor));
+        }
+
+        // o detalhe do tópico vem de projeções: as linhas abaixo são o que o select new entrega ao construtor
+        var agora = LocalDateTime.now();
+        topicoDetalhado = new DadosListagemTopico(1L, "Título do tópico", "Mensagem do tópico ".repeat(20), "autor",
+                Status.NAO_RESPONDIDO, agora, respostasPorTopico, "Curso");
+        linhasRespostas = new Object[respostasPorTopico][];
+        for (int i = 0; i < respostasPorTopico; i++) {
+            linhasRespostas[i] = new Object[]{(long) i, "Resposta ".repeat(30) + i, "autor", agora.plusMinutes(i), false};
+        }
+        detalhes = mapearDetalhes();
+
+        pagina = new PageImpl<>(topicos.stream().map(DadosListagemTopico::new).toList(), PageRequest.of(0, tamanhoPagina), 1_000);
+    }
+
+    @Benchmark
+    public List<DadosListagemTopico> mapearListagem() {
+        return topicos.stream().map(DadosListagemTopico::new).toList();
+    }
+
+    @Benchmark
+    public DadosDetalhesTopico mapearDetalhes() {
+        var respostas = new ArrayList<DadosListagemResposta>(linhasRespostas.length);
+        for (var linha : linhasRespostas) {
+            respostas.add(new DadosListagemResposta((Long) linha[0], (String) linha[1], (String) linha[2], (LocalDateTime) linha[3], (Boolean) linha[4]));
+        }
+        var ultima = respostas.getLast();
+        var cursor = new CursorPaginacao(ultima.dataCriacao(), ultima.id()).codificar();
+        return new DadosDetalhesTopico(topicoDetalhado, new DadosPaginaCursor<>(respostas, cursor));
+    }
+
+    @Benchmark
+    public byte[] serializarDetalhes() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(detalhes);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(pagina);
+    }
+}
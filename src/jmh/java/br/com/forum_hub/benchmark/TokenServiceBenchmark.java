@@ -0,0 +1,75 @@
+package br.com.forum_hub.benchmark;
+
+import br.com.forum_hub.domain.autenticacao.DadosTokenAcesso;
+import br.com.forum_hub.domain.autenticacao.TokenService;
+import br.com.forum_hub.domain.perfil.PerfilNome;
+import br.com.forum_hub.domain.usuario.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final int TOKENS_DISTINTOS = 100_000;
+
+    @Param({"false", "true"})
+    public boolean principalStateless;
+
+    private TokenService tokenService;
+    private TokenService tokenServiceSemCache;
+    private Usuario usuario;
+    private String token;
+    private String[] tokensDistintos;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        tokenService = new TokenService("12345678", principalStateless, 50_000, new SimpleMeterRegistry());
+        // com capacidade 1 e tokens sempre diferentes, praticamente toda verificação refaz o HMAC e o parse
+        tokenServiceSemCache = new TokenService("12345678", principalStateless, 1, new SimpleMeterRegistry());
+
+        usuario = new Usuario(1L, "estudante@forumhub.com.br", "estudante", List.of(PerfilNome.ESTUDANTE));
+        token = tokenService.gerarToken(usuario);
+
+        tokensDistintos = new String[TOKENS_DISTINTOS];
+        for (int i = 0; i < TOKENS_DISTINTOS; i++) {
+            var outro = new Usuario((long) i, "usuario" + i + "@forumhub.com.br", "usuario" + i, List.of(PerfilNome.ESTUDANTE));
+            tokensDistintos[i] = tokenService.gerarToken(outro);
+        }
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public DadosTokenAcesso verificarTokenRepetido() {
+        return tokenService.verificarTokenAcesso(token);
+    }
+
+    @Benchmark
+    public DadosTokenAcesso verificarTokenNovo() {
+        proximo = (proximo + 1) % TOKENS_DISTINTOS;
+        return tokenServiceSemCache.verificarTokenAcesso(tokensDistintos[proximo]);
+    }
+}
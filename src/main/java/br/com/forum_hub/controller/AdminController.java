@@ -0,0 +1,46 @@
+package br.com.forum_hub.controller;
+
+import br.com.forum_hub.domain.exportacao.DadosImportacao;
+import br.com.forum_hub.domain.exportacao.ExportacaoService;
+import br.com.forum_hub.domain.exportacao.ImportacaoService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("admin")
+public class AdminController {
+
+    private final ExportacaoService exportacaoService;
+    private final ImportacaoService importacaoService;
+
+    public AdminController(ExportacaoService exportacaoService, ImportacaoService importacaoService) {
+        this.exportacaoService = exportacaoService;
+        this.importacaoService = importacaoService;
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = exportacaoService::exportar;
+        var anexo = ContentDisposition.attachment().filename("forum-hub.ndjson.gz").build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo.toString())
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(corpo);
+    }
+
+    @PostMapping("/importacao/{id}")
+    public ResponseEntity<DadosImportacao> importar(@PathVariable String id, InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importar(id, corpo));
+    }
+}
@@ -3,13 +3,19 @@ package br.com.forum_hub.controller;
 import br.com.forum_hub.domain.autenticacao.DadosLogin;
 import br.com.forum_hub.domain.autenticacao.DadosRefreshToken;
 import br.com.forum_hub.domain.autenticacao.DadosToken;
+import br.com.forum_hub.domain.autenticacao.TokenAtualizacaoService;
 import br.com.forum_hub.domain.autenticacao.TokenService;
 import br.com.forum_hub.domain.usuario.Usuario;
 import br.com.forum_hub.domain.usuario.UsuarioRepository;
+import br.com.forum_hub.infra.seguranca.LimitadorTentativas;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,21 +27,37 @@ public class AutenticacaoController {
 
     private final TokenService tokenService;
 
+    private final TokenAtualizacaoService tokenAtualizacaoService;
+
     private final UsuarioRepository usuarioRepository;
 
-    public AutenticacaoController(AuthenticationManager authenticationManager, TokenService tokenService, UsuarioRepository usuarioRepository) {
+    private final LimitadorTentativas limitadorTentativas;
+
+    public AutenticacaoController(AuthenticationManager authenticationManager, TokenService tokenService, TokenAtualizacaoService tokenAtualizacaoService, UsuarioRepository usuarioRepository, LimitadorTentativas limitadorTentativas) {
         this.authenticationManager = authenticationManager;
         this.tokenService = tokenService;
+        this.tokenAtualizacaoService = tokenAtualizacaoService;
         this.usuarioRepository = usuarioRepository;
+        this.limitadorTentativas = limitadorTentativas;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<DadosToken> efetuarLogin(@Valid @RequestBody DadosLogin dados) {
+    public ResponseEntity<DadosToken> efetuarLogin(@Valid @RequestBody DadosLogin dados, HttpServletRequest request) {
+        limitadorTentativas.verificar(request.getRemoteAddr(), dados.email());
+
         var authenticationToken = new UsernamePasswordAuthenticationToken(dados.email(), dados.senha());
-        var authentication = authenticationManager.authenticate(authenticationToken);
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(authenticationToken);
+        } catch (AuthenticationException e) {
+            limitadorTentativas.registrarFalha(dados.email());
+            throw e;
+        }
+        limitadorTentativas.registrarSucesso(dados.email());
 
-        String tokenAcesso = tokenService.gerarToken((Usuario) authentication.getPrincipal());
-        String refreshToken = tokenService.gerarRefreshToken((Usuario) authentication.getPrincipal());
+        var usuario = (Usuario) authentication.getPrincipal();
+        String tokenAcesso = tokenService.gerarToken(usuario);
+        String refreshToken = tokenAtualizacaoService.emitir(usuario);
 
         return  ResponseEntity.ok(new DadosToken(tokenAcesso, refreshToken));
     }
@@ -43,12 +65,19 @@ public class AutenticacaoController {
     @PostMapping("/atualizar-token")
     public ResponseEntity<DadosToken> atualizarToken(@Valid @RequestBody DadosRefreshToken dados) {
         var refreshToken = dados.refreshToken();
-        Long idUsuario = Long.valueOf(tokenService.verificarToken(refreshToken));
+        Long idUsuario = tokenAtualizacaoService.consumir(refreshToken);
         var usuario = usuarioRepository.findById(idUsuario).orElseThrow();
 
         String tokenAcesso = tokenService.gerarToken(usuario);
-        String tokenAtualizacao = tokenService.gerarRefreshToken(usuario);
+        String tokenAtualizacao = tokenAtualizacaoService.emitir(usuario);
 
         return  ResponseEntity.ok(new DadosToken(tokenAcesso, tokenAtualizacao));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> efetuarLogout(@AuthenticationPrincipal Usuario logado) {
+        tokenAtualizacaoService.revogarTodos(logado.getId());
+
+        return ResponseEntity.noContent().build();
+    }
 }
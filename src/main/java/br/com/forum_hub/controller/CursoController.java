@@ -3,19 +3,28 @@ package br.com.forum_hub.controller;
 import br.com.forum_hub.domain.curso.Categoria;
 import br.com.forum_hub.domain.curso.CursoService;
 import br.com.forum_hub.domain.curso.DadosCurso;
-import org.springframework.data.domain.Page;
+import br.com.forum_hub.infra.paginacao.OrdenacaoPermitida;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/cursos")
 public class CursoController {
 
+    private static final Set<String> ORDENACOES = Set.of("nome", "id");
+
     private final CursoService service;
 
     public CursoController(CursoService service) {
@@ -23,10 +32,25 @@ public class CursoController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<DadosCurso>> listar(@RequestParam(required = false) Categoria categoria,
-                                                   @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao){
-        var pagina = service.listar(categoria, paginacao);
-        return ResponseEntity.ok(pagina);
+    public ResponseEntity<Slice<DadosCurso>> listar(@RequestParam(required = false) Categoria categoria,
+                                                    @RequestParam(defaultValue = "true") boolean total,
+                                                    @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao,
+                                                    WebRequest requisicao){
+        OrdenacaoPermitida.validar(paginacao, ORDENACOES);
+
+        // a mesma versão da tabela gera corpos diferentes para cada filtro e página, então eles entram no ETag por extenso:
+        // um hash curto poderia colidir e devolver 304 para a página errada
+        var ordenacao = paginacao.getSort().stream()
+                .map(ordem -> ordem.getProperty() + "." + ordem.getDirection() + (ordem.isIgnoreCase() ? ".i" : ""))
+                .collect(Collectors.joining("_"));
+        var parametros = (categoria == null ? "todas" : categoria.name()) + "-" + total + "-" + paginacao.getPageNumber()
+                + "-" + paginacao.getPageSize() + "-" + ordenacao;
+        var etag = "\"cursos-" + service.versaoListagem() + "-" + parametros + "\"";
+        if (requisicao.checkNotModified(etag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+
+        var pagina = total ? service.listar(categoria, paginacao) : service.listarSemTotal(categoria, paginacao);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(pagina);
     }
 
 }
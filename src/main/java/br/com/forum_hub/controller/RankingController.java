@@ -0,0 +1,44 @@
+package br.com.forum_hub.controller;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.domain.ranking.DadosPosicaoRanking;
+import br.com.forum_hub.domain.ranking.Metrica;
+import br.com.forum_hub.domain.ranking.Periodo;
+import br.com.forum_hub.domain.ranking.RankingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/ranking")
+public class RankingController {
+
+    private final RankingService service;
+
+    public RankingController(RankingService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DadosPosicaoRanking>> listar(@RequestParam(defaultValue = "SOLUCOES") Metrica metrica,
+                                                            @RequestParam(defaultValue = "GERAL") Periodo periodo,
+                                                            @RequestParam(required = false) Long curso,
+                                                            @RequestParam(required = false) Categoria categoria,
+                                                            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(service.listar(metrica, periodo, curso, categoria, Math.clamp(limite, 1, 100)));
+    }
+
+    @GetMapping("/{idUsuario}")
+    public ResponseEntity<DadosPosicaoRanking> buscarPosicao(@PathVariable Long idUsuario,
+                                                             @RequestParam(defaultValue = "SOLUCOES") Metrica metrica,
+                                                             @RequestParam(defaultValue = "GERAL") Periodo periodo,
+                                                             @RequestParam(required = false) Long curso,
+                                                             @RequestParam(required = false) Categoria categoria) {
+        return ResponseEntity.ok(service.buscarPosicao(idUsuario, metrica, periodo, curso, categoria));
+    }
+}
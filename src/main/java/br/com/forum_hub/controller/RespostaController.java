@@ -3,9 +3,14 @@ package br.com.forum_hub.controller;
 import br.com.forum_hub.domain.resposta.DadosListagemResposta;
 import br.com.forum_hub.domain.resposta.DadosCadastroResposta;
 import br.com.forum_hub.domain.resposta.DadosAtualizacaoResposta;
+import br.com.forum_hub.domain.resposta.DadosCadastroRespostasLote;
 import br.com.forum_hub.domain.resposta.RespostaService;
 import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.paginacao.DadosPaginaCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,17 +21,53 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("topicos/{idTopico}/respostas")
 public class RespostaController {
 
     private final RespostaService service;
+    private final ObjectMapper mapper;
 
-    public RespostaController(RespostaService service) {
+    public RespostaController(RespostaService service, ObjectMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
+    }
+
+    @GetMapping
+    public ResponseEntity<DadosPaginaCursor<DadosListagemResposta>> listar(
+            @PathVariable Long idTopico,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho){
+
+        return ResponseEntity.ok(service.listarRespostasTopico(idTopico, cursor, Math.clamp(tamanho, 1, 100)));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> listarTodas(@PathVariable Long idTopico){
+        // as respostas são lidas e serializadas página a página, sem montar a lista inteira em memória
+        StreamingResponseBody corpo = saida -> {
+            try (var json = mapper.getFactory().createGenerator(saida)) {
+                json.writeStartArray();
+                service.percorrerRespostasTopico(idTopico, resposta -> {
+                    try {
+                        json.writeObject(resposta);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
     }
 
     @PostMapping
@@ -36,6 +77,12 @@ public class RespostaController {
         return ResponseEntity.created(uri).body(new DadosListagemResposta(resposta));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<DadosListagemResposta>> cadastrarEmLote(@PathVariable Long idTopico, @RequestBody @Valid DadosCadastroRespostasLote dados, @AuthenticationPrincipal Usuario autor){
+        var respostas = service.cadastrarEmLote(dados.respostas(), idTopico, autor);
+        return ResponseEntity.status(HttpStatus.CREATED).body(respostas.stream().map(DadosListagemResposta::new).toList());
+    }
+
     @PutMapping
     public ResponseEntity<DadosListagemResposta> atualizar(@RequestBody @Valid DadosAtualizacaoResposta dados, @AuthenticationPrincipal Usuario logado){
         var resposta = service.atualizar(dados, logado);
@@ -3,14 +3,21 @@ package br.com.forum_hub.controller;
 import br.com.forum_hub.domain.resposta.RespostaService;
 import br.com.forum_hub.domain.topico.DadosAtualizacaoTopico;
 import br.com.forum_hub.domain.topico.DadosCadastroTopico;
+import br.com.forum_hub.domain.topico.DadosCadastroTopicosLote;
 import br.com.forum_hub.domain.topico.DadosDetalhesTopico;
 import br.com.forum_hub.domain.topico.DadosListagemTopico;
+import br.com.forum_hub.domain.topico.FiltroTopicos;
 import br.com.forum_hub.domain.topico.TopicoService;
 import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.paginacao.DadosPaginaCursor;
+import br.com.forum_hub.infra.paginacao.OrdenacaoPermitida;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,11 +30,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("topicos")
 public class TopicoController {
+    private static final Set<String> ORDENACOES = Set.of("dataCriacao");
+    private static final int RESPOSTAS_NO_DETALHE = 20;
+
     private final TopicoService service;
     private final RespostaService respostaService;
 
@@ -43,24 +57,63 @@ public class TopicoController {
         return ResponseEntity.created(uri).body(new DadosListagemTopico(topico));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<DadosListagemTopico>> cadastrarEmLote(@RequestBody @Valid DadosCadastroTopicosLote dados, @AuthenticationPrincipal Usuario autor) {
+        var topicos = service.cadastrarEmLote(dados.topicos(), autor);
+        return ResponseEntity.status(HttpStatus.CREATED).body(topicos.stream().map(DadosListagemTopico::new).toList());
+    }
+
     @GetMapping
-    public ResponseEntity<Page<DadosListagemTopico>> listar(
+    public ResponseEntity<Slice<DadosListagemTopico>> listar(
             @RequestParam(required = false) Long curso,
             @RequestParam(required = false) String categoria,
             @RequestParam(required = false, name = "sem-resposta") Boolean semResposta,
             @RequestParam(required = false) Boolean solucionados,
+            @RequestParam(defaultValue = "true") boolean total,
             @PageableDefault(size = 10, sort = {"dataCriacao"}) Pageable paginacao){
 
-        var pagina = service.listar(categoria, curso, semResposta,
-                solucionados, paginacao);
+        OrdenacaoPermitida.validar(paginacao, ORDENACOES);
+
+        var filtro = new FiltroTopicos(categoria, curso, semResposta, solucionados);
+        var pagina = total ? service.listar(filtro, paginacao) : service.listarSemTotal(filtro, paginacao);
         return ResponseEntity.ok(pagina);
     }
 
+    @GetMapping("/rolagem")
+    public ResponseEntity<DadosPaginaCursor<DadosListagemTopico>> listarPorCursor(
+            @RequestParam(required = false) Long curso,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false, name = "sem-resposta") Boolean semResposta,
+            @RequestParam(required = false) Boolean solucionados,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int tamanho){
+
+        var filtro = new FiltroTopicos(categoria, curso, semResposta, solucionados);
+        var pagina = service.listarPorCursor(filtro, cursor, Math.clamp(tamanho, 1, 100));
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<Page<DadosListagemTopico>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Long curso,
+            @RequestParam(required = false) String categoria,
+            @PageableDefault(size = 10) Pageable paginacao){
+
+        var filtro = new FiltroTopicos(categoria, curso, null, null);
+        return ResponseEntity.ok(service.buscar(q, filtro, paginacao));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<DadosDetalhesTopico> detalhar(@PathVariable Long id){
-        var topico = service.buscarPeloId(id);
-        var respostas = respostaService.buscarRespostasTopico(id);
-        return ResponseEntity.ok(new DadosDetalhesTopico(topico, respostas));
+    public ResponseEntity<DadosDetalhesTopico> detalhar(@PathVariable Long id, WebRequest requisicao){
+        // a versão é lida pela chave primária; só quando ela mudou o tópico e as respostas são consultados
+        var etag = "\"topico-" + id + "-" + service.buscarVersao(id) + "\"";
+        if (requisicao.checkNotModified(etag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+
+        var topico = service.detalhar(id);
+        var respostas = respostaService.listarRespostasTopico(id, null, RESPOSTAS_NO_DETALHE);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(new DadosDetalhesTopico(topico, respostas));
     }
 
     @PutMapping
@@ -2,23 +2,32 @@ package br.com.forum_hub.controller;
 
 import br.com.forum_hub.domain.perfil.DadosPerfil;
 import br.com.forum_hub.domain.usuario.*;
+import br.com.forum_hub.infra.seguranca.LimitadorTentativas;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
+
 @RestController
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
 
-    public UsuarioController(UsuarioService usuarioService) {
+    private final LimitadorTentativas limitadorTentativas;
+
+    public UsuarioController(UsuarioService usuarioService, LimitadorTentativas limitadorTentativas) {
         this.usuarioService = usuarioService;
+        this.limitadorTentativas = limitadorTentativas;
     }
 
     @PostMapping("/registrar")
-    public ResponseEntity<DadosListagemUsuario> cadastrar(@RequestBody @Valid DadosCadastroUsuario dados, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity<DadosListagemUsuario> cadastrar(@RequestBody @Valid DadosCadastroUsuario dados, UriComponentsBuilder uriBuilder, HttpServletRequest request) {
+        limitadorTentativas.verificar(request.getRemoteAddr());
+
         var usuario = usuarioService.cadastrar(dados);
         var uri = uriBuilder.path("/{nomeUsuario}").buildAndExpand(usuario.getNomeUsuario()).toUri();
 
@@ -32,11 +41,19 @@ public class UsuarioController {
         return ResponseEntity.ok("Conta verificada com sucesso!");
     }
 
-    @GetMapping("/{nomeUsuario}")
-    public ResponseEntity<DadosListagemUsuario> exibirPerfil(@PathVariable String nomeUsuario) {
-        var usuario = usuarioService.buscarPeloNomeUsuario(nomeUsuario);
+    @GetMapping("/usuarios/disponivel")
+    public ResponseEntity<DadosDisponibilidadeNome> verificarDisponibilidade(@RequestParam String nome) {
+        return ResponseEntity.ok(usuarioService.verificarDisponibilidade(nome));
+    }
 
-        return ResponseEntity.ok(new DadosListagemUsuario(usuario));
+    @GetMapping("/usuarios/sugestoes")
+    public ResponseEntity<List<String>> sugerirNomes(@RequestParam String prefixo, @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(usuarioService.sugerirNomes(prefixo, Math.clamp(limite, 1, 20)));
+    }
+
+    @GetMapping("/{nomeUsuario}")
+    public ResponseEntity<DadosPerfilUsuario> exibirPerfil(@PathVariable String nomeUsuario) {
+        return ResponseEntity.ok(usuarioService.exibirPerfil(nomeUsuario));
     }
 
     @PutMapping("/editar-perfil")
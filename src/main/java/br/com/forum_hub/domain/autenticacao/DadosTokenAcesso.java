@@ -0,0 +1,16 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import br.com.forum_hub.domain.perfil.PerfilNome;
+
+import java.util.List;
+
+public record DadosTokenAcesso(
+        String email,
+        Long id,
+        String nomeUsuario,
+        List<PerfilNome> perfis
+) {
+    public boolean possuiDadosUsuario() {
+        return id != null && nomeUsuario != null && perfis != null;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import java.time.Instant;
+
+public record DadosTokenAtualizacao(Long idUsuario, String jti, Instant expiracao) {
+}
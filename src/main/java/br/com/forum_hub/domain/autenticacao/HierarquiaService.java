@@ -1,23 +1,60 @@
 package br.com.forum_hub.domain.autenticacao;
 
+import br.com.forum_hub.domain.perfil.Perfil;
+import br.com.forum_hub.domain.perfil.PerfilNome;
 import br.com.forum_hub.domain.usuario.Usuario;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
 public class HierarquiaService {
-    private final RoleHierarchy roleHierarchy;
+
+    private static final PerfilNome[] PERFIS = PerfilNome.values();
+
+    // para cada perfil, a máscara (1 << ordinal) de todos os perfis que ele alcança na hierarquia
+    private volatile int[] perfisAlcancaveis;
 
     public HierarquiaService(RoleHierarchy roleHierarchy) {
-        this.roleHierarchy = roleHierarchy;
+        recompilar(roleHierarchy);
+    }
+
+    public void recompilar(RoleHierarchy roleHierarchy) {
+        var tabela = new int[PERFIS.length];
+
+        for (var perfil : PERFIS) {
+            for (var autoridade : roleHierarchy.getReachableGrantedAuthorities(List.of(new Perfil(perfil)))) {
+                var alcancado = paraPerfilNome(autoridade.getAuthority());
+                if (alcancado != null)
+                    tabela[perfil.ordinal()] |= 1 << alcancado.ordinal();
+            }
+        }
+
+        this.perfisAlcancaveis = tabela;
+    }
+
+    public boolean usuarioNaoTemPermissoes(Usuario logado, Usuario autor, PerfilNome perfilDesejado) {
+        if (logado.getId().equals(autor.getId()))
+            return false;
+
+        var tabela = perfisAlcancaveis;
+        var alcancaveis = 0;
+        for (GrantedAuthority autoridade : logado.getAuthorities()) {
+            if (autoridade instanceof Perfil perfil)
+                alcancaveis |= tabela[perfil.getNome().ordinal()];
+        }
+
+        return (alcancaveis & (1 << perfilDesejado.ordinal())) == 0;
     }
 
-    public boolean usuarioNaoTemPermissoes(Usuario logado, Usuario autor, String perfilDesejado) {
-        return logado.getAuthorities().stream()
-                .flatMap(autoridade -> roleHierarchy.getReachableGrantedAuthorities(List.of(autoridade)).stream())
-                .noneMatch(perfil -> perfil.getAuthority().equals(perfilDesejado) || logado.getId().equals(autor.getId()));
+    private PerfilNome paraPerfilNome(String autoridade) {
+        for (var perfil : PERFIS) {
+            if (autoridade.equals("ROLE_" + perfil.name()))
+                return perfil;
+        }
+        return null;
     }
 
 }
@@ -0,0 +1,51 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "tokens_atualizacao")
+public class TokenAtualizacao {
+    @Id
+    private String jti;
+    private Long usuarioId;
+    private Instant expiracao;
+    private Boolean revogado;
+    private Boolean consumido;
+
+    @Deprecated
+    public TokenAtualizacao(){}
+
+    public TokenAtualizacao(String jti, Long usuarioId, Instant expiracao) {
+        this.jti = jti;
+        this.usuarioId = usuarioId;
+        this.expiracao = expiracao;
+        this.revogado = false;
+        this.consumido = false;
+    }
+
+    public TokenAtualizacao marcarComoConsumido() {
+        this.revogado = true;
+        this.consumido = true;
+        return this;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public Instant getExpiracao() {
+        return expiracao;
+    }
+
+    public boolean foiConsumido() {
+        return Boolean.TRUE.equals(consumido);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenAtualizacaoRepository extends JpaRepository<TokenAtualizacao, String> {
+
+    @Modifying
+    @Query("update TokenAtualizacao t set t.revogado = true, t.consumido = true where t.jti = :jti and t.revogado = false")
+    int consumir(String jti);
+
+    @Modifying
+    @Query("update TokenAtualizacao t set t.revogado = true where t.usuarioId = :usuarioId and t.revogado = false")
+    int revogarTodosDoUsuario(Long usuarioId);
+
+    List<TokenAtualizacao> findByUsuarioIdAndRevogadoFalseAndExpiracaoAfter(Long usuarioId, Instant agora);
+
+    List<TokenAtualizacao> findByRevogadoTrueAndExpiracaoAfter(Instant agora);
+
+    @Modifying
+    @Query("delete from TokenAtualizacao t where t.expiracao < :agora")
+    int apagarExpirados(Instant agora);
+}
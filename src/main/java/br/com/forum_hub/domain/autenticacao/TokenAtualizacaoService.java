@@ -0,0 +1,98 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class TokenAtualizacaoService {
+
+    private static final Duration VALIDADE = Duration.ofMinutes(120);
+
+    private final TokenAtualizacaoRepository repository;
+    private final TokenService tokenService;
+    private final TokensRevogados tokensRevogados;
+
+    public TokenAtualizacaoService(TokenAtualizacaoRepository repository, TokenService tokenService, TokensRevogados tokensRevogados) {
+        this.repository = repository;
+        this.tokenService = tokenService;
+        this.tokensRevogados = tokensRevogados;
+    }
+
+    @Transactional
+    public String emitir(Usuario usuario) {
+        var jti = UUID.randomUUID().toString();
+        var expiracao = Instant.now().plus(VALIDADE);
+
+        repository.save(new TokenAtualizacao(jti, usuario.getId(), expiracao));
+        return tokenService.gerarRefreshToken(usuario, jti, expiracao);
+    }
+
+    @Transactional(dontRollbackOn = RegraDeNegocioException.class)
+    public Long consumir(String refreshToken) {
+        var dados = tokenService.verificarRefreshToken(refreshToken);
+
+        if (dados.jti() == null)
+            throw new RegraDeNegocioException("Token de atualização inválido ou revogado!");
+
+        var situacao = tokensRevogados.situacao(dados.jti());
+        if (situacao == TokensRevogados.Situacao.REVOGADO)
+            throw new RegraDeNegocioException("Token de atualização inválido ou revogado!");
+
+        // cada token só pode ser usado uma vez; se já foi consumido (aqui ou em outra instância), é sinal de reuso
+        // e todos os tokens do usuário são revogados
+        if (situacao == TokensRevogados.Situacao.CONSUMIDO || repository.consumir(dados.jti()) == 0) {
+            revogarTodos(dados.idUsuario());
+            throw new RegraDeNegocioException("Token de atualização inválido ou revogado!");
+        }
+
+        var consumido = new TokenAtualizacao(dados.jti(), dados.idUsuario(), dados.expiracao()).marcarComoConsumido();
+        revogarEmMemoriaAposCommit(List.of(consumido));
+
+        return dados.idUsuario();
+    }
+
+    @Transactional
+    public void revogarTodos(Long idUsuario) {
+        var ativos = repository.findByUsuarioIdAndRevogadoFalseAndExpiracaoAfter(idUsuario, Instant.now());
+        repository.revogarTodosDoUsuario(idUsuario);
+        revogarEmMemoriaAposCommit(ativos);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarRevogados() {
+        tokensRevogados.revogar(repository.findByRevogadoTrueAndExpiracaoAfter(Instant.now()));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${forumhub.tokens.limpeza}")
+    public void limparExpirados() {
+        repository.apagarExpirados(Instant.now());
+        tokensRevogados.limparExpirados();
+    }
+
+    private void revogarEmMemoriaAposCommit(List<TokenAtualizacao> tokens) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tokensRevogados.revogar(tokens);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokensRevogados.revogar(tokens);
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.forum_hub.domain.autenticacao;
 
+import br.com.forum_hub.domain.perfil.PerfilNome;
 import br.com.forum_hub.domain.usuario.Usuario;
 import br.com.forum_hub.infra.exception.RegraDeNegocioException;
 import com.auth0.jwt.JWT;
@@ -8,59 +9,157 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.List;
 
 @Service
 public class TokenService {
 
+    private static final String EMISSOR = "Forum Hub";
+
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    private final Cache<ByteBuffer, TokenVerificado> tokensVerificados;
+
+    private final boolean principalStateless;
+
+    public TokenService(@Value("${forumhub.seguranca.token.secret}") String secret,
+                        @Value("${forumhub.seguranca.token.stateless}") boolean principalStateless,
+                        @Value("${forumhub.cache.tokens.tamanho-maximo}") long tamanhoCache,
+                        MeterRegistry registry) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(EMISSOR)
+                .build();
+        this.principalStateless = principalStateless;
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoCache)
+                .expireAfter(new ExpiracaoToken())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, tokensVerificados, "tokens-verificados");
+    }
+
     public String gerarToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256("12345678");
-
-            return JWT.create()
-                    .withIssuer("Forum Hub")
+            var token = JWT.create()
+                    .withIssuer(EMISSOR)
                     .withSubject(usuario.getUsername())
-                    .withExpiresAt(expiracao(30))
-                    .sign(algorithm);
+                    .withExpiresAt(expiracao(30));
+
+            if (principalStateless) {
+                token.withClaim("id", usuario.getId())
+                        .withClaim("nomeUsuario", usuario.getNomeUsuario())
+                        .withClaim("perfis", usuario.getNomesPerfis().stream().map(PerfilNome::name).toList());
+            }
+
+            return token.sign(algorithm);
         } catch (JWTCreationException exception) {
             throw new RegraDeNegocioException("Erro ao gerar token JWT de acesso!");
         }
     }
 
-    public String gerarRefreshToken(Usuario usuario) {
+    public String gerarRefreshToken(Usuario usuario, String jti, Instant expiracao) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256("12345678");
-
             return JWT.create()
-                    .withIssuer("Forum Hub")
+                    .withIssuer(EMISSOR)
                     .withSubject(usuario.getId().toString())
-                    .withExpiresAt(expiracao(120))
+                    .withJWTId(jti)
+                    .withExpiresAt(expiracao)
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
             throw new RegraDeNegocioException("Erro ao gerar token JWT de acesso!");
         }
     }
 
-    public String verificarToken(String token) {
-        DecodedJWT decodedJWT;
+    public DadosTokenAtualizacao verificarRefreshToken(String token) {
+        var decodedJWT = decodificar(token);
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256("12345678");
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer("Forum Hub")
-                    .build();
+            return new DadosTokenAtualizacao(Long.valueOf(decodedJWT.getSubject()), decodedJWT.getId(), decodedJWT.getExpiresAtAsInstant());
+        } catch (NumberFormatException exception) {
+            throw new RegraDeNegocioException("Erro ao verificar token JWT de atualização!");
+        }
+    }
+
+    public DadosTokenAcesso verificarTokenAcesso(String token) {
+        // clientes reenviam o mesmo token várias vezes, então o resultado da verificação fica em cache até o token expirar
+        var chave = ByteBuffer.wrap(resumo(token));
+        var verificado = tokensVerificados.getIfPresent(chave);
+
+        if (verificado == null || !verificado.expiracao().isAfter(Instant.now())) {
+            var decodedJWT = decodificar(token);
+            verificado = new TokenVerificado(extrairDados(decodedJWT), decodedJWT.getExpiresAtAsInstant());
+            tokensVerificados.put(chave, verificado);
+        }
 
-            decodedJWT = verifier.verify(token);
-            return decodedJWT.getSubject();
+        return verificado.dados();
+    }
+
+    private DadosTokenAcesso extrairDados(DecodedJWT decodedJWT) {
+        List<String> perfis = decodedJWT.getClaim("perfis").asList(String.class);
+
+        return new DadosTokenAcesso(
+                decodedJWT.getSubject(),
+                decodedJWT.getClaim("id").asLong(),
+                decodedJWT.getClaim("nomeUsuario").asString(),
+                perfis == null ? null : perfis.stream().map(PerfilNome::valueOf).toList());
+    }
+
+    private DecodedJWT decodificar(String token) {
+        try {
+            return verifier.verify(token);
         } catch (JWTVerificationException exception){
             throw new RegraDeNegocioException("Erro ao verificar token JWT de acesso!");
         }
     }
 
+    private byte[] resumo(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Instant expiracao(Integer minutos) {
-        return LocalDateTime.now().plusMinutes(minutos).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(Duration.ofMinutes(minutos));
+    }
+
+    private record TokenVerificado(DadosTokenAcesso dados, Instant expiracao) {
+    }
+
+    private static class ExpiracaoToken implements Expiry<ByteBuffer, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer chave, TokenVerificado token, long tempoAtual) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer chave, TokenVerificado token, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(chave, token, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer chave, TokenVerificado token, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
     }
 }
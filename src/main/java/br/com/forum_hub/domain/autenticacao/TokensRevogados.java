@@ -0,0 +1,79 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import br.com.forum_hub.infra.memoria.FiltroBloom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class TokensRevogados {
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+
+    private final int capacidadeMinima;
+
+    private final Map<String, Instant> revogados = new ConcurrentHashMap<>();
+
+    // tokens já usados na rotação ficam à parte: reapresentar um deles é reuso, não um simples token revogado
+    private final Map<String, Instant> consumidos = new ConcurrentHashMap<>();
+
+    private volatile FiltroBloom filtro;
+
+    // revogar e limparExpirados não se intercalam: um token revogado durante a reconstrução entraria só no filtro descartado
+    private final Lock trava = new ReentrantLock();
+
+    public TokensRevogados(@Value("${forumhub.tokens.revogados.capacidade}") int capacidadeMinima) {
+        this.capacidadeMinima = capacidadeMinima;
+        this.filtro = new FiltroBloom(capacidadeMinima, TAXA_FALSO_POSITIVO);
+    }
+
+    public Situacao situacao(String jti) {
+        // o filtro descarta a grande maioria dos tokens válidos sem consultar os conjuntos exatos
+        if (!filtro.podeConter(jti))
+            return Situacao.VALIDO;
+        if (consumidos.containsKey(jti))
+            return Situacao.CONSUMIDO;
+        return revogados.containsKey(jti) ? Situacao.REVOGADO : Situacao.VALIDO;
+    }
+
+    public void revogar(Collection<TokenAtualizacao> tokens) {
+        trava.lock();
+        try {
+            for (var token : tokens) {
+                (token.foiConsumido() ? consumidos : revogados).put(token.getJti(), token.getExpiracao());
+                filtro.adicionar(token.getJti());
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public void limparExpirados() {
+        trava.lock();
+        try {
+            var agora = Instant.now();
+            revogados.values().removeIf(expiracao -> expiracao.isBefore(agora));
+            consumidos.values().removeIf(expiracao -> expiracao.isBefore(agora));
+
+            // o filtro de Bloom não remove elementos, então é reconstruído só com o que restou
+            var novoFiltro = new FiltroBloom(Math.max(capacidadeMinima, (revogados.size() + consumidos.size()) * 2), TAXA_FALSO_POSITIVO);
+            revogados.keySet().forEach(novoFiltro::adicionar);
+            consumidos.keySet().forEach(novoFiltro::adicionar);
+            this.filtro = novoFiltro;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public enum Situacao {
+        VALIDO,
+        REVOGADO,
+        CONSUMIDO
+    }
+}
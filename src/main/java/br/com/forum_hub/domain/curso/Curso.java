@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "cursos")
@@ -20,6 +21,9 @@ public class Curso {
     private String nome;
     @Enumerated(EnumType.STRING)
     private Categoria categoria;
+    // incrementada pelo Hibernate a cada alteração; entra no ETag da listagem e do detalhe dos tópicos
+    @Version
+    private Long versao;
 
     public Long getId() {
         return id;
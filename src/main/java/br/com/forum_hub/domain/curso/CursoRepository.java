@@ -2,8 +2,18 @@ package br.com.forum_hub.domain.curso;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CursoRepository extends JpaRepository<Curso, Long> {
     Page<Curso> findByCategoria(Categoria categoria, Pageable paginacao);
+
+    Slice<Curso> findAllByCategoria(Categoria categoria, Pageable paginacao);
+
+    Slice<Curso> findAllBy(Pageable paginacao);
+
+    // a tabela é pequena e o agregado muda com qualquer inclusão, remoção ou edição (o @Version incrementa a versão)
+    @Query("select new br.com.forum_hub.domain.curso.DadosVersaoCursos(count(c), coalesce(sum(c.versao), 0), coalesce(max(c.id), 0)) from Curso c")
+    DadosVersaoCursos buscarVersao();
 }
@@ -4,9 +4,15 @@ import br.com.forum_hub.infra.exception.RegraDeNegocioException;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 public class CursoService {
 
@@ -20,10 +26,28 @@ public class CursoService {
         return repository.findById(id).orElseThrow(() -> new RegraDeNegocioException("Curso não encontrado!"));
     }
 
+    public Map<Long, Curso> buscarPelosIds(Set<Long> ids) {
+        var cursos = repository.findAllById(ids).stream().collect(Collectors.toMap(Curso::getId, Function.identity()));
+        if (cursos.size() != ids.size())
+            throw new RegraDeNegocioException("Curso não encontrado!");
+        return cursos;
+    }
+
+    public String versaoListagem() {
+        var versao = repository.buscarVersao();
+        return versao.quantidade() + "-" + versao.somaVersoes() + "-" + versao.maiorId();
+    }
+
     public Page<DadosCurso> listar(Categoria categoria, Pageable paginacao) {
         if(categoria != null)
             return repository.findByCategoria(categoria, paginacao).map(DadosCurso::new);
         return repository.findAll(paginacao).map(DadosCurso::new);
 
     }
+
+    public Slice<DadosCurso> listarSemTotal(Categoria categoria, Pageable paginacao) {
+        if(categoria != null)
+            return repository.findAllByCategoria(categoria, paginacao).map(DadosCurso::new);
+        return repository.findAllBy(paginacao).map(DadosCurso::new);
+    }
 }
@@ -0,0 +1,4 @@
+package br.com.forum_hub.domain.curso;
+
+public record DadosVersaoCursos(Long quantidade, Long somaVersoes, Long maiorId) {
+}
@@ -0,0 +1,12 @@
+package br.com.forum_hub.domain.exportacao;
+
+import java.time.LocalDateTime;
+
+public record DadosExportacaoResposta(
+        Long id,
+        String mensagem,
+        LocalDateTime dataCriacao,
+        Boolean solucao,
+        Long autorId
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.forum_hub.domain.exportacao;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.domain.topico.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DadosExportacaoTopico(
+        Long id,
+        String titulo,
+        String mensagem,
+        LocalDateTime dataCriacao,
+        Status status,
+        Boolean aberto,
+        Categoria categoria,
+        Long cursoId,
+        Long autorId,
+        List<DadosExportacaoResposta> respostas
+) {
+}
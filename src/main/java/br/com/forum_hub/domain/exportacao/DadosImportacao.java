@@ -0,0 +1,9 @@
+package br.com.forum_hub.domain.exportacao;
+
+public record DadosImportacao(
+        String id,
+        long topicos,
+        long respostas,
+        long linhasProcessadas
+) {
+}
@@ -0,0 +1,111 @@
+package br.com.forum_hub.domain.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ExportacaoService {
+
+    // o join segue a ordem do PK de topicos e do índice (topico_id, data_criacao, id) de respostas, então não há ordenação em memória no MySQL
+    private static final String CONSULTA = """
+            SELECT t.id, t.titulo, t.mensagem, t.data_criacao, t.status, t.aberto, t.categoria, t.curso_id, t.autor_id,
+                   r.id, r.mensagem, r.data_criacao, r.solucao, r.autor_id
+            FROM topicos t
+            LEFT JOIN respostas r ON r.topico_id = t.id
+            ORDER BY t.id, r.data_criacao, r.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper mapper;
+
+    public ExportacaoService(JdbcTemplate jdbcTemplate, ObjectMapper mapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapper = mapper;
+    }
+
+    // uma linha NDJSON por tópico, escrita campo a campo conforme as linhas chegam: nem um tópico com milhares de respostas fica inteiro em memória
+    public void exportar(OutputStream saida) throws IOException {
+        try (var json = mapper.getFactory().createGenerator(new GZIPOutputStream(saida, 64 * 1024))) {
+            var escritor = new EscritorTopicos(json);
+
+            // fetch size Integer.MIN_VALUE num ResultSet forward-only faz o driver do MySQL entregar as linhas uma a uma
+            jdbcTemplate.query(conexao -> {
+                var consulta = conexao.prepareStatement(CONSULTA, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                consulta.setFetchSize(Integer.MIN_VALUE);
+                return consulta;
+            }, escritor::escrever);
+
+            escritor.finalizar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class EscritorTopicos {
+        private final JsonGenerator json;
+        private Long topicoAtual;
+
+        EscritorTopicos(JsonGenerator json) {
+            this.json = json;
+        }
+
+        void escrever(ResultSet linha) throws SQLException {
+            try {
+                var idTopico = linha.getLong(1);
+                if (!Long.valueOf(idTopico).equals(topicoAtual)) {
+                    finalizar();
+                    iniciarTopico(linha);
+                    topicoAtual = idTopico;
+                }
+
+                if (linha.getObject(10) != null)
+                    escreverResposta(linha);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finalizar() throws IOException {
+            if (topicoAtual == null)
+                return;
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        private void iniciarTopico(ResultSet linha) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", linha.getLong(1));
+            json.writeStringField("titulo", linha.getString(2));
+            json.writeStringField("mensagem", linha.getString(3));
+            json.writeObjectField("dataCriacao", linha.getObject(4, LocalDateTime.class));
+            json.writeStringField("status", linha.getString(5));
+            json.writeBooleanField("aberto", linha.getBoolean(6));
+            json.writeStringField("categoria", linha.getString(7));
+            json.writeObjectField("cursoId", linha.getObject(8, Long.class));
+            json.writeNumberField("autorId", linha.getLong(9));
+            json.writeArrayFieldStart("respostas");
+        }
+
+        private void escreverResposta(ResultSet linha) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", linha.getLong(10));
+            json.writeStringField("mensagem", linha.getString(11));
+            json.writeObjectField("dataCriacao", linha.getObject(12, LocalDateTime.class));
+            json.writeBooleanField("solucao", linha.getBoolean(13));
+            json.writeNumberField("autorId", linha.getLong(14));
+            json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.forum_hub.domain.exportacao;
+
+import br.com.forum_hub.domain.ranking.RankingUsuarios;
+import br.com.forum_hub.domain.topico.IndiceBuscaTopicos;
+import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+@Service
+public class ImportacaoService {
+
+    private static final int TOPICOS_POR_LOTE = 500;
+
+    // mesmo allocationSize dos @SequenceGenerator de Topico e Resposta
+    private static final int ALOCACAO_SEQUENCIA = 50;
+
+    private static final String INSERIR_TOPICO = """
+            INSERT INTO topicos (id, titulo, mensagem, data_criacao, status, aberto, quantidade_respostas, categoria, curso_id, autor_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERIR_RESPOSTA = """
+            INSERT INTO respostas (id, mensagem, data_criacao, solucao, data_solucao, topico_id, autor_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ATUALIZAR_CONTADORES_USUARIO = """
+            UPDATE usuarios SET quantidade_topicos = quantidade_topicos + ?, quantidade_respostas = quantidade_respostas + ?,
+                quantidade_solucoes = quantidade_solucoes + ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final ObjectMapper mapper;
+    private final IndiceBuscaTopicos indiceBusca;
+    private final RankingUsuarios ranking;
+
+    public ImportacaoService(JdbcTemplate jdbcTemplate, TransactionTemplate transacao, ObjectMapper mapper, IndiceBuscaTopicos indiceBusca,
+                             RankingUsuarios ranking) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = transacao;
+        this.mapper = mapper;
+        this.indiceBusca = indiceBusca;
+        this.ranking = ranking;
+    }
+
+    // reenviar o mesmo arquivo com o mesmo id retoma depois da última linha gravada, porque cada lote grava o checkpoint na própria transação
+    public DadosImportacao importar(String idImportacao, InputStream entrada) throws IOException {
+        var jaProcessadas = linhasProcessadas(idImportacao);
+        var ultimaGravada = jaProcessadas;
+        var linhaAtual = 0L;
+        var topicos = 0L;
+        var respostas = 0L;
+        var lote = new ArrayList<DadosExportacaoTopico>(TOPICOS_POR_LOTE);
+
+        try (var leitor = new BufferedReader(new InputStreamReader(new GZIPInputStream(entrada), StandardCharsets.UTF_8))) {
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                linhaAtual++;
+                if (linhaAtual <= jaProcessadas || texto.isBlank())
+                    continue;
+
+                lote.add(ler(texto, linhaAtual));
+                if (lote.size() == TOPICOS_POR_LOTE) {
+                    respostas += gravar(idImportacao, lote, linhaAtual);
+                    topicos += lote.size();
+                    ultimaGravada = linhaAtual;
+                    lote.clear();
+                }
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            respostas += gravar(idImportacao, lote, linhaAtual);
+            topicos += lote.size();
+            ultimaGravada = linhaAtual;
+        }
+
+        if (topicos > 0) {
+            indiceBusca.reconstruir();
+            ranking.reconstruir();
+        }
+
+        return new DadosImportacao(idImportacao, topicos, respostas, ultimaGravada);
+    }
+
+    // uma linha inválida interrompe a importação com o número dela; os lotes anteriores já ficaram gravados no checkpoint
+    private DadosExportacaoTopico ler(String texto, long linha) {
+        DadosExportacaoTopico topico;
+        try {
+            topico = mapper.readValue(texto, DadosExportacaoTopico.class);
+        } catch (JsonProcessingException e) {
+            throw new RegraDeNegocioException("Linha " + linha + " da importação não é um JSON válido!");
+        }
+
+        var ausentes = new ArrayList<String>();
+        exigir(topico.titulo(), "titulo", ausentes);
+        exigir(topico.mensagem(), "mensagem", ausentes);
+        exigir(topico.dataCriacao(), "dataCriacao", ausentes);
+        exigir(topico.status(), "status", ausentes);
+        exigir(topico.aberto(), "aberto", ausentes);
+        exigir(topico.categoria(), "categoria", ausentes);
+        exigir(topico.autorId(), "autorId", ausentes);
+        exigir(topico.respostas(), "respostas", ausentes);
+
+        var respostas = topico.respostas() == null ? List.<DadosExportacaoResposta>of() : topico.respostas();
+        for (int i = 0; i < respostas.size(); i++) {
+            var resposta = respostas.get(i);
+            if (resposta == null) {
+                ausentes.add("respostas[" + i + "]");
+                continue;
+            }
+            exigir(resposta.mensagem(), "respostas[" + i + "].mensagem", ausentes);
+            exigir(resposta.dataCriacao(), "respostas[" + i + "].dataCriacao", ausentes);
+            exigir(resposta.autorId(), "respostas[" + i + "].autorId", ausentes);
+        }
+
+        if (!ausentes.isEmpty())
+            throw new RegraDeNegocioException("Linha " + linha + " da importação sem os campos obrigatórios: " + String.join(", ", ausentes));
+        return topico;
+    }
+
+    private static void exigir(Object valor, String campo, List<String> ausentes) {
+        if (valor == null)
+            ausentes.add(campo);
+    }
+
+    private int gravar(String idImportacao, List<DadosExportacaoTopico> lote, long ultimaLinha) {
+        var quantidadeRespostas = lote.stream().mapToInt(topico -> topico.respostas().size()).sum();
+
+        // os ids são reservados em transações curtas e separadas, para não segurar a linha da sequência enquanto o lote é inserido
+        long idTopico = transacao.execute(status -> reservarIds("topicos_seq", lote.size()));
+        long idResposta = transacao.execute(status -> reservarIds("respostas_seq", quantidadeRespostas));
+
+        var linhasTopicos = new ArrayList<Object[]>(lote.size());
+        var linhasRespostas = new ArrayList<Object[]>(quantidadeRespostas);
+        // id do autor -> {tópicos, respostas, soluções}; ordenado por id para os lotes sempre travarem usuários na mesma ordem
+        var contadores = new TreeMap<Long, int[]>();
+        for (var topico : lote) {
+            contadores.computeIfAbsent(topico.autorId(), id -> new int[3])[0]++;
+            linhasTopicos.add(new Object[]{idTopico, topico.titulo(), topico.mensagem(), topico.dataCriacao(), topico.status().name(),
+                    topico.aberto(), topico.respostas().size(), topico.categoria().name(), topico.cursoId(), topico.autorId()});
+
+            for (var resposta : topico.respostas()) {
+                var ehSolucao = Boolean.TRUE.equals(resposta.solucao());
+                var contadoresAutor = contadores.computeIfAbsent(resposta.autorId(), id -> new int[3]);
+                contadoresAutor[1]++;
+                if (ehSolucao)
+                    contadoresAutor[2]++;
+                // o arquivo não traz a data da marcação, então vale a da resposta, como na migration que criou a coluna
+                linhasRespostas.add(new Object[]{idResposta++, resposta.mensagem(), resposta.dataCriacao(), resposta.solucao(),
+                        ehSolucao ? resposta.dataCriacao() : null, idTopico, resposta.autorId()});
+            }
+            idTopico++;
+        }
+
+        var linhasContadores = contadores.entrySet().stream()
+                .map(autor -> new Object[]{autor.getValue()[0], autor.getValue()[1], autor.getValue()[2], autor.getKey()})
+                .toList();
+
+        transacao.executeWithoutResult(status -> {
+            // contadores antes dos INSERTs, que pegariam lock compartilhado nos usuários pela FK do autor
+            jdbcTemplate.batchUpdate(ATUALIZAR_CONTADORES_USUARIO, linhasContadores);
+            jdbcTemplate.batchUpdate(INSERIR_TOPICO, linhasTopicos);
+            if (!linhasRespostas.isEmpty())
+                jdbcTemplate.batchUpdate(INSERIR_RESPOSTA, linhasRespostas);
+
+            jdbcTemplate.update("""
+                    INSERT INTO importacoes (id, linhas_processadas) VALUES (?, ?)
+                    ON DUPLICATE KEY UPDATE linhas_processadas = VALUES(linhas_processadas)
+                    """, idImportacao, ultimaLinha);
+        });
+        return quantidadeRespostas;
+    }
+
+    // o otimizador pooled do Hibernate trata o valor lido V como o bloco (V - 50, V]; avançar a tabela em "quantidade"
+    // reserva o intervalo logo depois do último bloco entregue, sem colidir com o próximo que o Hibernate buscar
+    private long reservarIds(String sequencia, int quantidade) {
+        if (quantidade == 0)
+            return 0;
+
+        jdbcTemplate.update("UPDATE " + sequencia + " SET next_val = LAST_INSERT_ID(next_val + ?)", quantidade);
+        var valorAtual = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        return valorAtual - quantidade - ALOCACAO_SEQUENCIA + 1;
+    }
+
+    private long linhasProcessadas(String idImportacao) {
+        return jdbcTemplate.query("SELECT linhas_processadas FROM importacoes WHERE id = ?",
+                (resultado, numero) -> resultado.getLong(1), idImportacao).stream().findFirst().orElse(0L);
+    }
+}
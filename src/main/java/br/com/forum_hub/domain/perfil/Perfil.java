@@ -13,6 +13,17 @@ public class Perfil implements GrantedAuthority {
     @Enumerated(EnumType.STRING)
     private PerfilNome nome;
 
+    public Perfil() {
+    }
+
+    public Perfil(PerfilNome nome) {
+        this.nome = nome;
+    }
+
+    public PerfilNome getNome() {
+        return nome;
+    }
+
     @Override
     public String getAuthority() {
         return "ROLE_" + nome;
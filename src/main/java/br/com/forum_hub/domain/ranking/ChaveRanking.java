@@ -0,0 +1,24 @@
+package br.com.forum_hub.domain.ranking;
+
+import br.com.forum_hub.domain.curso.Categoria;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// curso e categoria nulos formam o ranking global
+public record ChaveRanking(Metrica metrica, Periodo periodo, Long idCurso, Categoria categoria) {
+
+    static List<ChaveRanking> escopos(Metrica metrica, Periodo periodo, Long idCurso, Categoria categoria) {
+        var escopos = new ArrayList<ChaveRanking>(3);
+        escopos.add(new ChaveRanking(metrica, periodo, null, null));
+        if (idCurso != null)
+            escopos.add(new ChaveRanking(metrica, periodo, idCurso, null));
+        if (categoria != null)
+            escopos.add(new ChaveRanking(metrica, periodo, null, categoria));
+        return escopos;
+    }
+
+    boolean global() {
+        return idCurso == null && categoria == null;
+    }
+}
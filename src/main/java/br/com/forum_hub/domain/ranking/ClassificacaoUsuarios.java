@@ -0,0 +1,94 @@
+package br.com.forum_hub.domain.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+public class ClassificacaoUsuarios {
+
+    private static final Comparator<Entrada> ORDEM = Comparator.comparingInt(Entrada::pontuacao).reversed()
+            .thenComparing(Entrada::idUsuario);
+
+    private final Map<Long, Integer> pontuacoes = new HashMap<>();
+
+    private final TreeSet<Entrada> ordem = new TreeSet<>(ORDEM);
+
+    // árvore de Fenwick indexada pela pontuação com a quantidade de usuários em cada uma; conta quem está acima em O(log n)
+    private long[] arvore = new long[65];
+
+    public synchronized void somar(Long idUsuario, int quantidade) {
+        var anterior = pontuacoes.getOrDefault(idUsuario, 0);
+        var atual = Math.max(0, anterior + quantidade);
+        if (anterior == atual)
+            return;
+
+        garantirCapacidade(atual);
+
+        if (anterior > 0) {
+            ordem.remove(new Entrada(idUsuario, anterior));
+            atualizarArvore(anterior, -1);
+        }
+
+        // pontuação zero sai do ranking
+        if (atual > 0) {
+            pontuacoes.put(idUsuario, atual);
+            ordem.add(new Entrada(idUsuario, atual));
+            atualizarArvore(atual, 1);
+        } else {
+            pontuacoes.remove(idUsuario);
+        }
+    }
+
+    // empatados dividem a posição e o próximo pula as posições ocupadas (1, 2, 2, 4)
+    public synchronized Optional<Colocacao> colocacao(Long idUsuario) {
+        var pontuacao = pontuacoes.get(idUsuario);
+        if (pontuacao == null)
+            return Optional.empty();
+
+        var acima = ordem.size() - somaAte(pontuacao);
+        return Optional.of(new Colocacao(idUsuario, (int) acima + 1, pontuacao));
+    }
+
+    public synchronized List<Colocacao> topo(int limite) {
+        var colocacoes = new ArrayList<Colocacao>(Math.min(limite, ordem.size()));
+        var posicao = 0;
+        for (var entrada : ordem) {
+            if (colocacoes.size() == limite)
+                break;
+
+            var empatado = !colocacoes.isEmpty() && colocacoes.getLast().pontuacao() == entrada.pontuacao();
+            if (!empatado)
+                posicao = colocacoes.size() + 1;
+            colocacoes.add(new Colocacao(entrada.idUsuario(), posicao, entrada.pontuacao()));
+        }
+        return colocacoes;
+    }
+
+    private void garantirCapacidade(int pontuacao) {
+        if (pontuacao < arvore.length)
+            return;
+
+        arvore = new long[Math.max(arvore.length * 2, pontuacao + 1)];
+        for (var entrada : ordem)
+            atualizarArvore(entrada.pontuacao(), 1);
+    }
+
+    private void atualizarArvore(int pontuacao, int quantidade) {
+        for (var i = pontuacao; i < arvore.length; i += i & -i)
+            arvore[i] += quantidade;
+    }
+
+    private long somaAte(int pontuacao) {
+        var soma = 0L;
+        for (var i = pontuacao; i > 0; i -= i & -i)
+            soma += arvore[i];
+        return soma;
+    }
+
+    private record Entrada(Long idUsuario, int pontuacao) {
+    }
+}
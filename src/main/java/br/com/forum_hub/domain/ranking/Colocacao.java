@@ -0,0 +1,4 @@
+package br.com.forum_hub.domain.ranking;
+
+public record Colocacao(Long idUsuario, int posicao, int pontuacao) {
+}
@@ -0,0 +1,14 @@
+package br.com.forum_hub.domain.ranking;
+
+import br.com.forum_hub.domain.curso.Categoria;
+
+public record DadosPontuacaoAutor(
+        Long idAutor,
+        Long idCurso,
+        Categoria categoria,
+        Long respostas,
+        Long respostasSemana,
+        Long solucoes,
+        Long solucoesSemana
+) {
+}
@@ -0,0 +1,8 @@
+package br.com.forum_hub.domain.ranking;
+
+public record DadosPosicaoRanking(Long idUsuario, String nomeUsuario, int posicao, int pontuacao) {
+
+    public DadosPosicaoRanking(Colocacao colocacao, String nomeUsuario) {
+        this(colocacao.idUsuario(), nomeUsuario, colocacao.posicao(), colocacao.pontuacao());
+    }
+}
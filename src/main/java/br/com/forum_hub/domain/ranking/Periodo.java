@@ -0,0 +1,6 @@
+package br.com.forum_hub.domain.ranking;
+
+public enum Periodo {
+    SEMANAL,
+    GERAL
+}
@@ -0,0 +1,44 @@
+package br.com.forum_hub.domain.ranking;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.domain.usuario.UsuarioService;
+import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class RankingService {
+
+    private final RankingUsuarios ranking;
+    private final UsuarioService usuarioService;
+
+    public RankingService(RankingUsuarios ranking, UsuarioService usuarioService) {
+        this.ranking = ranking;
+        this.usuarioService = usuarioService;
+    }
+
+    public List<DadosPosicaoRanking> listar(Metrica metrica, Periodo periodo, Long idCurso, Categoria categoria, int limite) {
+        var colocacoes = ranking.topo(chave(metrica, periodo, idCurso, categoria), limite);
+
+        // só os nomes da página vão ao banco, numa consulta pelos ids
+        var nomes = usuarioService.buscarNomesPelosIds(colocacoes.stream().map(Colocacao::idUsuario).toList());
+        return colocacoes.stream()
+                .map(colocacao -> new DadosPosicaoRanking(colocacao, nomes.get(colocacao.idUsuario())))
+                .toList();
+    }
+
+    public DadosPosicaoRanking buscarPosicao(Long idUsuario, Metrica metrica, Periodo periodo, Long idCurso, Categoria categoria) {
+        var colocacao = ranking.colocacao(chave(metrica, periodo, idCurso, categoria), idUsuario)
+                .orElseThrow(() -> new RegraDeNegocioException("Usuário sem pontuação nesse ranking!"));
+
+        return new DadosPosicaoRanking(colocacao, usuarioService.buscarNomesPelosIds(List.of(idUsuario)).get(idUsuario));
+    }
+
+    private ChaveRanking chave(Metrica metrica, Periodo periodo, Long idCurso, Categoria categoria) {
+        if (idCurso != null && categoria != null)
+            throw new RegraDeNegocioException("Informe o curso ou a categoria, não os dois!");
+
+        return new ChaveRanking(metrica, periodo, idCurso, categoria);
+    }
+}
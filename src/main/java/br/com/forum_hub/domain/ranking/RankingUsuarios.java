@@ -0,0 +1,160 @@
+package br.com.forum_hub.domain.ranking;
+
+import br.com.forum_hub.domain.resposta.RespostaAlterada;
+import br.com.forum_hub.domain.resposta.RespostaRepository;
+import br.com.forum_hub.domain.topico.TopicoMovido;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class RankingUsuarios {
+
+    private final RespostaRepository repository;
+
+    private volatile Map<ChaveRanking, ClassificacaoUsuarios> classificacoes = new ConcurrentHashMap<>();
+
+    // os eventos somam em paralelo com a trava de leitura; a reconstrução pega a de escrita para nenhum ponto cair
+    // no mapa antigo enquanto o novo é montado
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    public RankingUsuarios(RespostaRepository repository) {
+        this.repository = repository;
+    }
+
+    // um único GROUP BY na subida; depois disso o ranking só muda pelos eventos das respostas
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        trava.writeLock().lock();
+        try {
+            this.classificacoes = montar(repository.somarPontuacoesPorAutor(inicioSemana()));
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void atualizar(RespostaAlterada evento) {
+        trava.readLock().lock();
+        try {
+            switch (evento.tipo()) {
+                case CADASTRO -> somar(Metrica.RESPOSTAS, evento, evento.dataCriacao(), 1);
+                case SOLUCAO -> somar(Metrica.SOLUCOES, evento, evento.dataSolucao(), 1);
+                case EXCLUSAO -> {
+                    somar(Metrica.RESPOSTAS, evento, evento.dataCriacao(), -1);
+                    if (evento.solucao())
+                        somar(Metrica.SOLUCOES, evento, evento.dataSolucao(), -1);
+                }
+                case EDICAO -> {
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // trocar o curso leva as respostas do tópico junto: os pontos de cada autor nesse tópico saem do curso e da categoria
+    // antigos e entram nos novos; o ranking global não muda
+    @TransactionalEventListener
+    public void atualizar(TopicoMovido evento) {
+        var pontuacoes = repository.somarPontuacoesDoTopico(evento.idTopico(), inicioSemana());
+
+        trava.readLock().lock();
+        try {
+            var atuais = classificacoes;
+            for (var pontuacao : pontuacoes) {
+                mover(atuais, Metrica.RESPOSTAS, Periodo.GERAL, evento, pontuacao.idAutor(), pontuacao.respostas());
+                mover(atuais, Metrica.RESPOSTAS, Periodo.SEMANAL, evento, pontuacao.idAutor(), pontuacao.respostasSemana());
+                mover(atuais, Metrica.SOLUCOES, Periodo.GERAL, evento, pontuacao.idAutor(), pontuacao.solucoes());
+                mover(atuais, Metrica.SOLUCOES, Periodo.SEMANAL, evento, pontuacao.idAutor(), pontuacao.solucoesSemana());
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Scheduled(cron = "${forumhub.ranking.reinicio-semanal}")
+    public void reiniciarSemana() {
+        trava.writeLock().lock();
+        try {
+            classificacoes.keySet().removeIf(chave -> chave.periodo() == Periodo.SEMANAL);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public List<Colocacao> topo(ChaveRanking chave, int limite) {
+        var classificacao = classificacoes.get(chave);
+        return classificacao == null ? List.of() : classificacao.topo(limite);
+    }
+
+    public Optional<Colocacao> colocacao(ChaveRanking chave, Long idUsuario) {
+        var classificacao = classificacoes.get(chave);
+        return classificacao == null ? Optional.empty() : classificacao.colocacao(idUsuario);
+    }
+
+    // o evento chega depois do commit; um ponto só conta na semana se a resposta ou a marcação aconteceu nela
+    private void somar(Metrica metrica, RespostaAlterada evento, LocalDateTime data, int quantidade) {
+        var atuais = classificacoes;
+        for (var periodo : Periodo.values()) {
+            if (periodo == Periodo.SEMANAL && (data == null || data.isBefore(inicioSemana())))
+                continue;
+
+            for (var chave : ChaveRanking.escopos(metrica, periodo, evento.idCurso(), evento.categoria()))
+                atuais.computeIfAbsent(chave, c -> new ClassificacaoUsuarios()).somar(evento.idAutor(), quantidade);
+        }
+    }
+
+    private static Map<ChaveRanking, ClassificacaoUsuarios> montar(List<DadosPontuacaoAutor> pontuacoes) {
+        var classificacoes = new ConcurrentHashMap<ChaveRanking, ClassificacaoUsuarios>();
+        for (var pontuacao : pontuacoes) {
+            somar(classificacoes, Metrica.RESPOSTAS, Periodo.GERAL, pontuacao, pontuacao.respostas());
+            somar(classificacoes, Metrica.RESPOSTAS, Periodo.SEMANAL, pontuacao, pontuacao.respostasSemana());
+            somar(classificacoes, Metrica.SOLUCOES, Periodo.GERAL, pontuacao, pontuacao.solucoes());
+            somar(classificacoes, Metrica.SOLUCOES, Periodo.SEMANAL, pontuacao, pontuacao.solucoesSemana());
+        }
+        return classificacoes;
+    }
+
+    private static void mover(Map<ChaveRanking, ClassificacaoUsuarios> classificacoes, Metrica metrica, Periodo periodo,
+                              TopicoMovido evento, Long idAutor, Long quantidade) {
+        if (quantidade == null || quantidade == 0)
+            return;
+
+        for (var chave : ChaveRanking.escopos(metrica, periodo, evento.idCursoAnterior(), evento.categoriaAnterior())) {
+            if (!chave.global())
+                classificacoes.computeIfAbsent(chave, c -> new ClassificacaoUsuarios()).somar(idAutor, -quantidade.intValue());
+        }
+        for (var chave : ChaveRanking.escopos(metrica, periodo, evento.idCurso(), evento.categoria())) {
+            if (!chave.global())
+                classificacoes.computeIfAbsent(chave, c -> new ClassificacaoUsuarios()).somar(idAutor, quantidade.intValue());
+        }
+    }
+
+    private static void somar(Map<ChaveRanking, ClassificacaoUsuarios> classificacoes, Metrica metrica, Periodo periodo,
+                              DadosPontuacaoAutor pontuacao, Long quantidade) {
+        if (quantidade == null || quantidade == 0)
+            return;
+
+        for (var chave : ChaveRanking.escopos(metrica, periodo, pontuacao.idCurso(), pontuacao.categoria()))
+            classificacoes.computeIfAbsent(chave, c -> new ClassificacaoUsuarios()).somar(pontuacao.idAutor(), quantidade.intValue());
+    }
+
+    // mesmo instante em que o cron zera os rankings semanais
+    private static LocalDateTime inicioSemana() {
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.time.LocalDateTime;
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 @Table(name = "respostas")
 public class Resposta {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "respostas_seq")
+    @SequenceGenerator(name = "respostas_seq", sequenceName = "respostas_seq", allocationSize = 50)
     private Long id;
     private String mensagem;
     @ManyToOne
@@ -26,6 +28,7 @@ public class Resposta {
     private Usuario autor;
     private LocalDateTime dataCriacao;
     private Boolean solucao;
+    private LocalDateTime dataSolucao;
 
     @ManyToOne
     @JoinColumn(name = "topico_id")
@@ -62,6 +65,10 @@ public class Resposta {
         return solucao;
     }
 
+    public LocalDateTime getDataSolucao() {
+        return dataSolucao;
+    }
+
     public Topico getTopico() {
         return topico;
     }
@@ -73,6 +80,7 @@ public class Resposta {
 
     public Resposta marcarComoSolucao() {
         this.solucao = true;
+        this.dataSolucao = LocalDateTime.now();
         return this;
     }
 }
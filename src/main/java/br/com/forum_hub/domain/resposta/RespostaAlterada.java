@@ -0,0 +1,34 @@
+package br.com.forum_hub.domain.resposta;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.domain.topico.Topico;
+
+import java.time.LocalDateTime;
+
+public record RespostaAlterada(
+        TipoAlteracao tipo,
+        Long idResposta,
+        Long idTopico,
+        Long idCurso,
+        Categoria categoria,
+        Long idAutor,
+        boolean solucao,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataSolucao
+) {
+    public RespostaAlterada(TipoAlteracao tipo, Resposta resposta) {
+        this(tipo, resposta.getId(), resposta.getTopico().getId(), idCurso(resposta.getTopico()), resposta.getTopico().getCategoria(),
+                resposta.getAutor().getId(), resposta.ehSolucao(), resposta.getDataCriacao(), resposta.getDataSolucao());
+    }
+
+    private static Long idCurso(Topico topico) {
+        return topico.getCurso() == null ? null : topico.getCurso().getId();
+    }
+
+    public enum TipoAlteracao {
+        CADASTRO,
+        EDICAO,
+        SOLUCAO,
+        EXCLUSAO
+    }
+}
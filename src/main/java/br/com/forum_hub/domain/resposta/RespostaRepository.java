@@ -1,9 +1,59 @@
 package br.com.forum_hub.domain.resposta;
 
+import br.com.forum_hub.domain.ranking.DadosPontuacaoAutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface RespostaRepository extends JpaRepository<Resposta, Long> {
-    List<Resposta> findByTopicoId(Long id);
+
+    @Query("""
+            select new br.com.forum_hub.domain.resposta.DadosListagemResposta(r.id, r.mensagem, a.nomeUsuario, r.dataCriacao, r.solucao)
+            from Resposta r join r.autor a
+            where r.topico.id = :idTopico and r.solucao = true
+            """)
+    Optional<DadosListagemResposta> buscarSolucaoDoTopico(Long idTopico);
+
+    @Query("""
+            select new br.com.forum_hub.domain.resposta.DadosListagemResposta(r.id, r.mensagem, a.nomeUsuario, r.dataCriacao, r.solucao)
+            from Resposta r join r.autor a
+            where r.topico.id = :idTopico and r.solucao = false
+            order by r.dataCriacao, r.id
+            """)
+    List<DadosListagemResposta> listarDoTopico(Long idTopico, Limit limite);
+
+    // mesmo formato do cursor da listagem de tópicos: o ">=" na data deixa o MySQL percorrer o índice (topico_id, data_criacao, id) como range
+    @Query("""
+            select new br.com.forum_hub.domain.resposta.DadosListagemResposta(r.id, r.mensagem, a.nomeUsuario, r.dataCriacao, r.solucao)
+            from Resposta r join r.autor a
+            where r.topico.id = :idTopico and r.solucao = false
+            and r.dataCriacao >= :dataCriacao and (r.dataCriacao > :dataCriacao or r.id > :id)
+            order by r.dataCriacao, r.id
+            """)
+    List<DadosListagemResposta> listarDoTopicoAposCursor(Long idTopico, LocalDateTime dataCriacao, Long id, Limit limite);
+
+    @Query("""
+            select new br.com.forum_hub.domain.ranking.DadosPontuacaoAutor(r.autor.id, c.id, t.categoria, count(r),
+                sum(case when r.dataCriacao >= :inicioSemana then 1 else 0 end),
+                sum(case when r.solucao = true then 1 else 0 end),
+                sum(case when r.solucao = true and r.dataSolucao >= :inicioSemana then 1 else 0 end))
+            from Resposta r join r.topico t left join t.curso c
+            group by r.autor.id, c.id, t.categoria
+            """)
+    List<DadosPontuacaoAutor> somarPontuacoesPorAutor(LocalDateTime inicioSemana);
+
+    @Query("""
+            select new br.com.forum_hub.domain.ranking.DadosPontuacaoAutor(r.autor.id, c.id, t.categoria, count(r),
+                sum(case when r.dataCriacao >= :inicioSemana then 1 else 0 end),
+                sum(case when r.solucao = true then 1 else 0 end),
+                sum(case when r.solucao = true and r.dataSolucao >= :inicioSemana then 1 else 0 end))
+            from Resposta r join r.topico t left join t.curso c
+            where t.id = :idTopico
+            group by r.autor.id, c.id, t.categoria
+            """)
+    List<DadosPontuacaoAutor> somarPontuacoesDoTopico(Long idTopico, LocalDateTime inicioSemana);
 }
@@ -1,26 +1,40 @@
 package br.com.forum_hub.domain.resposta;
 
 import br.com.forum_hub.domain.autenticacao.HierarquiaService;
-import br.com.forum_hub.domain.topico.Status;
+import br.com.forum_hub.domain.perfil.PerfilNome;
 import br.com.forum_hub.domain.topico.TopicoService;
 import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.domain.usuario.UsuarioService;
 import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import br.com.forum_hub.infra.paginacao.CursorPaginacao;
+import br.com.forum_hub.infra.paginacao.DadosPaginaCursor;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class RespostaService {
+    private static final int PAGINA_STREAM = 500;
+
     private final RespostaRepository repository;
     private final TopicoService topicoService;
     private final HierarquiaService hierarquiaService;
+    private final UsuarioService usuarioService;
+    private final ApplicationEventPublisher eventos;
 
-    public RespostaService(RespostaRepository repository, TopicoService topicoService, HierarquiaService hierarquiaService) {
+    public RespostaService(RespostaRepository repository, TopicoService topicoService, HierarquiaService hierarquiaService,
+                           UsuarioService usuarioService, ApplicationEventPublisher eventos) {
         this.repository = repository;
         this.topicoService = topicoService;
         this.hierarquiaService = hierarquiaService;
+        this.usuarioService = usuarioService;
+        this.eventos = eventos;
     }
 
     @Transactional
@@ -31,28 +45,82 @@ public class RespostaService {
             throw new RegraDeNegocioException("O tópico está fechado! Você não pode adicionar mais respostas.");
         }
 
-        if(topico.getQuantidadeRespostas() == 0) {
-            topico.alterarStatus(Status.RESPONDIDO);
+        // o UPDATE vem antes do INSERT: a FK da resposta pega lock compartilhado no tópico e, se viesse primeiro,
+        // cadastros simultâneos travariam um esperando o outro para promover esse lock
+        topicoService.registrarNovasRespostas(topico, 1);
+        usuarioService.registrarRespostas(autor.getId(), 1);
+
+        var resposta = repository.save(new Resposta(dados, topico, autor));
+        eventos.publishEvent(new RespostaAlterada(RespostaAlterada.TipoAlteracao.CADASTRO, resposta));
+        return resposta;
+    }
+
+    @Transactional
+    public List<Resposta> cadastrarEmLote(List<DadosCadastroResposta> dados, Long idTopico, Usuario autor) {
+        var topico = topicoService.buscarPeloId(idTopico);
+
+        if(!topico.estaAberto()) {
+            throw new RegraDeNegocioException("O tópico está fechado! Você não pode adicionar mais respostas.");
         }
 
-        topico.incrementarRespostas();
+        // contador e status do tópico num único UPDATE agregado para o lote inteiro, antes dos INSERTs pelo mesmo motivo do cadastro
+        topicoService.registrarNovasRespostas(topico, dados.size());
+        usuarioService.registrarRespostas(autor.getId(), dados.size());
 
-        var resposta = new Resposta(dados, topico, autor);
-        return repository.save(resposta);
+        var respostas = repository.saveAll(dados.stream().map(d -> new Resposta(d, topico, autor)).toList());
+        respostas.forEach(resposta -> eventos.publishEvent(new RespostaAlterada(RespostaAlterada.TipoAlteracao.CADASTRO, resposta)));
+        return respostas;
     }
 
     @Transactional
     public Resposta atualizar(DadosAtualizacaoResposta dados, Usuario logado) {
         var resposta = buscarPeloId(dados.id());
 
-        if(hierarquiaService.usuarioNaoTemPermissoes(logado, resposta.getTopico().getAutor(), "ROLE_MODERADOR"))
+        if(hierarquiaService.usuarioNaoTemPermissoes(logado, resposta.getTopico().getAutor(), PerfilNome.MODERADOR))
             throw new AccessDeniedException("Você não pode editar essa resposta!");
 
-        return resposta.atualizarInformacoes(dados);
+        resposta.atualizarInformacoes(dados);
+        eventos.publishEvent(new RespostaAlterada(RespostaAlterada.TipoAlteracao.EDICAO, resposta));
+        return resposta;
     }
 
-    public List<Resposta> buscarRespostasTopico(Long id){
-        return repository.findByTopicoId(id);
+    public DadosPaginaCursor<DadosListagemResposta> listarRespostasTopico(Long idTopico, String cursor, int tamanho) {
+        var posicao = CursorPaginacao.decodificar(cursor);
+        var respostas = new ArrayList<DadosListagemResposta>(tamanho + 2);
+
+        // a solução aceita fica fixa no topo da primeira página e fora da sequência paginada
+        if (posicao == null)
+            repository.buscarSolucaoDoTopico(idTopico).ifPresent(respostas::add);
+
+        // busca um item a mais só para saber se existe próxima página
+        var pagina = posicao == null
+                ? repository.listarDoTopico(idTopico, Limit.of(tamanho + 1))
+                : repository.listarDoTopicoAposCursor(idTopico, posicao.dataCriacao(), posicao.id(), Limit.of(tamanho + 1));
+        if (pagina.size() <= tamanho) {
+            respostas.addAll(pagina);
+            return new DadosPaginaCursor<>(respostas, null);
+        }
+
+        var conteudo = pagina.subList(0, tamanho);
+        respostas.addAll(conteudo);
+        var ultima = conteudo.get(tamanho - 1);
+        return new DadosPaginaCursor<>(respostas, new CursorPaginacao(ultima.dataCriacao(), ultima.id()).codificar());
+    }
+
+    // percorre o cursor em páginas, cada uma numa consulta curta: a conexão volta ao pool enquanto o cliente lê a página,
+    // em vez de ficar presa a um result set aberto durante todo o download
+    public void percorrerRespostasTopico(Long idTopico, Consumer<DadosListagemResposta> consumidor) {
+        repository.buscarSolucaoDoTopico(idTopico).ifPresent(consumidor);
+
+        var pagina = repository.listarDoTopico(idTopico, Limit.of(PAGINA_STREAM));
+        while (!pagina.isEmpty()) {
+            pagina.forEach(consumidor);
+            if (pagina.size() < PAGINA_STREAM)
+                return;
+
+            var ultima = pagina.getLast();
+            pagina = repository.listarDoTopicoAposCursor(idTopico, ultima.dataCriacao(), ultima.id(), Limit.of(PAGINA_STREAM));
+        }
     }
 
     @Transactional
@@ -61,14 +129,16 @@ public class RespostaService {
 
         var topico = resposta.getTopico();
 
-        if (hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), "ROLE_INSTRUTOR"))
+        if (hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), PerfilNome.INSTRUTOR))
             throw new RegraDeNegocioException("Você não pode marcar essa resposta como solução!");
 
-        if(topico.getStatus() == Status.RESOLVIDO)
+        if(!topicoService.registrarSolucao(topico))
             throw new RegraDeNegocioException("O tópico já foi solucionado! Você não pode marcar mais de uma resposta como solução.");
 
-        topico.alterarStatus(Status.RESOLVIDO);
-        return resposta.marcarComoSolucao();
+        usuarioService.registrarSolucoes(resposta.getAutor().getId(), 1);
+        resposta.marcarComoSolucao();
+        eventos.publishEvent(new RespostaAlterada(RespostaAlterada.TipoAlteracao.SOLUCAO, resposta));
+        return resposta;
     }
 
     @Transactional
@@ -76,16 +146,15 @@ public class RespostaService {
         var resposta = buscarPeloId(id);
         var topico = resposta.getTopico();
 
-        if(hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), "ROLE_MODERADOR"))
+        if(hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), PerfilNome.MODERADOR))
             throw new AccessDeniedException("Você não pode apagar essa resposta!");
 
+        topicoService.registrarRespostaExcluida(topico, resposta.ehSolucao());
+        usuarioService.registrarRespostas(resposta.getAutor().getId(), -1);
+        if (resposta.ehSolucao())
+            usuarioService.registrarSolucoes(resposta.getAutor().getId(), -1);
         repository.deleteById(id);
-
-        topico.decrementarRespostas();
-        if (topico.getQuantidadeRespostas() == 0)
-            topico.alterarStatus(Status.NAO_RESPONDIDO);
-        else if(resposta.ehSolucao())
-            topico.alterarStatus(Status.RESPONDIDO);
+        eventos.publishEvent(new RespostaAlterada(RespostaAlterada.TipoAlteracao.EXCLUSAO, resposta));
     }
 
     public Resposta buscarPeloId(Long id) {
@@ -0,0 +1,66 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.domain.resposta.RespostaAlterada;
+import br.com.forum_hub.infra.memoria.CarregamentoCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class CachePaginasTopicos {
+
+    private final AsyncCache<ChavePagina, Page<DadosListagemTopico>> paginas;
+
+    private final int paginasEmCache;
+
+    public CachePaginasTopicos(@Value("${forumhub.cache.paginas-topicos.tamanho-maximo}") long tamanhoMaximo,
+                               @Value("${forumhub.cache.paginas-topicos.expiracao}") Duration expiracao,
+                               @Value("${forumhub.cache.paginas-topicos.paginas}") int paginasEmCache,
+                               MeterRegistry registry) {
+        this.paginasEmCache = paginasEmCache;
+        this.paginas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(registry, paginas.synchronous(), "paginas-topicos");
+    }
+
+    public Page<DadosListagemTopico> buscar(FiltroTopicos filtro, Pageable paginacao, Supplier<Page<DadosListagemTopico>> consulta) {
+        // só as primeiras páginas concentram o tráfego repetido; as mais profundas vão direto ao banco
+        if (paginacao.getPageNumber() >= paginasEmCache)
+            return consulta.get();
+
+        var chave = new ChavePagina(filtro, paginacao.getPageNumber(), paginacao.getPageSize(), paginacao.getSort().toString());
+        return CarregamentoCache.buscar(paginas, chave, c -> consulta.get());
+    }
+
+    @TransactionalEventListener
+    public void invalidar(TopicoAlterado evento) {
+        invalidar(evento.idCurso(), evento.categoria());
+    }
+
+    @TransactionalEventListener
+    public void invalidar(RespostaAlterada evento) {
+        invalidar(evento.idCurso(), evento.categoria());
+    }
+
+    // remove só as páginas cujo filtro de curso e categoria pode incluir o tópico alterado, inclusive as que ainda estão sendo carregadas
+    private void invalidar(Long idCurso, Categoria categoria) {
+        paginas.asMap().keySet().removeIf(chave -> chave.filtro().podeConter(idCurso, categoria));
+    }
+
+    private record ChavePagina(FiltroTopicos filtro, int pagina, int tamanho, String ordenacao) {
+    }
+}
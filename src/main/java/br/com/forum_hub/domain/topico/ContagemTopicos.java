@@ -0,0 +1,85 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.infra.memoria.CarregamentoCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ContagemTopicos {
+
+    private final AsyncLoadingCache<FiltroTopicos, AtomicLong> totais;
+
+    private final TopicoRepository repository;
+
+    public ContagemTopicos(TopicoRepository repository,
+                           @Value("${forumhub.cache.contagem-topicos.atualizacao}") Duration atualizacao,
+                           @Value("${forumhub.cache.contagem-topicos.expiracao}") Duration expiracao,
+                           MeterRegistry registry) {
+        this.repository = repository;
+        // depois de "atualizacao" o total é recontado em segundo plano, enquanto o valor aproximado continua sendo servido
+        this.totais = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .refreshAfterWrite(atualizacao)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .buildAsync(filtro -> contar(filtro));
+
+        CaffeineCacheMetrics.monitor(registry, totais.synchronous(), "contagem-topicos");
+    }
+
+    // o primeiro COUNT roda na thread da requisição; as recontagens do refreshAfterWrite rodam no executor do Caffeine
+    public long total(FiltroTopicos filtro) {
+        return CarregamentoCache.buscar(totais, filtro, this::contar).get();
+    }
+
+    // ajusta os totais já em cache quando um tópico entra, sai ou muda de status na listagem; status nulo significa fora da listagem.
+    // como os outros caches, só aplica depois do commit: um rollback não deixa os totais desviados até a próxima recontagem
+    public void registrarMudanca(Long idCurso, Categoria categoria, Status statusAnterior, Status statusAtual) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicarMudanca(idCurso, categoria, statusAnterior, statusAtual);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aplicarMudanca(idCurso, categoria, statusAnterior, statusAtual);
+            }
+        });
+    }
+
+    private void aplicarMudanca(Long idCurso, Categoria categoria, Status statusAnterior, Status statusAtual) {
+        totais.asMap().forEach((filtro, futuro) -> {
+            // um COUNT ainda em andamento pode ter lido antes do commit; ele sai do cache e a próxima requisição conta de novo
+            if (!futuro.isDone()) {
+                if (filtro.podeConter(idCurso, categoria))
+                    totais.asMap().remove(filtro, futuro);
+                return;
+            }
+
+            if (futuro.isCompletedExceptionally())
+                return;
+
+            var total = futuro.join();
+            var antes = statusAnterior != null && filtro.corresponde(idCurso, categoria, statusAnterior) ? 1 : 0;
+            var depois = statusAtual != null && filtro.corresponde(idCurso, categoria, statusAtual) ? 1 : 0;
+
+            if (antes != depois)
+                total.addAndGet(depois - antes);
+        });
+    }
+
+    private AtomicLong contar(FiltroTopicos filtro) {
+        return new AtomicLong(repository.contar(filtro.especificacao()));
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.forum_hub.domain.topico;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record DadosCadastroTopicosLote(
+        @NotEmpty @Size(max = 1000) List<@Valid DadosCadastroTopico> topicos
+) {
+}
@@ -1,12 +1,13 @@
 package br.com.forum_hub.domain.topico;
 
 import br.com.forum_hub.domain.resposta.DadosListagemResposta;
-import br.com.forum_hub.domain.resposta.Resposta;
+import br.com.forum_hub.infra.paginacao.DadosPaginaCursor;
 
 import java.util.List;
 
-public record DadosDetalhesTopico(DadosListagemTopico dadosListagem, List<DadosListagemResposta> respostas) {
-    public DadosDetalhesTopico(Topico topico, List<Resposta> respostas) {
-        this(new DadosListagemTopico(topico), respostas.stream().map(DadosListagemResposta::new).toList());
+// respostas continua sendo a lista de antes; o cursor da próxima página vem ao lado para não quebrar os clientes atuais
+public record DadosDetalhesTopico(DadosListagemTopico dadosListagem, List<DadosListagemResposta> respostas, String proximoCursor) {
+    public DadosDetalhesTopico(DadosListagemTopico dadosListagem, DadosPaginaCursor<DadosListagemResposta> respostas) {
+        this(dadosListagem, respostas.conteudo(), respostas.proximoCursor());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+
+public record DadosIndexacaoTopico(
+        Long id,
+        String titulo,
+        String mensagem,
+        Long idCurso,
+        Categoria categoria
+) {
+    public DadosIndexacaoTopico(Topico topico) {
+        this(topico.getId(), topico.getTitulo(), topico.getMensagem(), topico.getCurso() == null ? null : topico.getCurso().getId(), topico.getCategoria());
+    }
+}
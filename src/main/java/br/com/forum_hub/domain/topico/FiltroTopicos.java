@@ -0,0 +1,37 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import org.springframework.data.jpa.domain.Specification;
+
+public record FiltroTopicos(
+        String categoria,
+        Long curso,
+        Boolean semResposta,
+        Boolean solucionados
+) {
+    public FiltroTopicos {
+        semResposta = Boolean.TRUE.equals(semResposta);
+        solucionados = Boolean.TRUE.equals(solucionados);
+    }
+
+    public Specification<Topico> especificacao() {
+        return Specification.where(TopicoSpecification.estaAberto())
+                .and(TopicoSpecification.temCategoria(categoria))
+                .and(TopicoSpecification.temCursoId(curso))
+                .and(TopicoSpecification.estaSemResposta(semResposta))
+                .and(TopicoSpecification.estaSolucionado(solucionados));
+    }
+
+    // ignora o status, que muda com respostas e soluções
+    public boolean podeConter(Long idCurso, Categoria categoriaTopico) {
+        return (curso == null || curso.equals(idCurso))
+                && (categoria == null || (categoriaTopico != null && categoria.equals(categoriaTopico.name())));
+    }
+
+    // mesma regra da especificação, avaliada em memória sobre os dados de um tópico aberto
+    public boolean corresponde(Long idCurso, Categoria categoriaTopico, Status status) {
+        return podeConter(idCurso, categoriaTopico)
+                && (!semResposta || status == Status.NAO_RESPONDIDO)
+                && (!solucionados || status == Status.RESOLVIDO);
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+import br.com.forum_hub.infra.busca.AnalisadorTexto;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class IndiceBuscaTopicos {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 2;
+
+    private final TopicoRepository repository;
+
+    private final TransactionTemplate transacao;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Indice indice = new Indice();
+
+    // não nulo enquanto uma reconstrução está em andamento: ids dos tópicos alterados que o índice novo precisa reler
+    private List<Long> pendentes;
+
+    public IndiceBuscaTopicos(TopicoRepository repository, TransactionTemplate transacao) {
+        this.repository = repository;
+        this.transacao = transacao;
+    }
+
+    // monta um índice novo fora do lock e só troca quando ele está completo; a aplicação já atende requisições durante a
+    // carga, então os tópicos alterados nesse meio tempo são relidos depois da carga, já que a linha do stream pode ser anterior
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        comLock(() -> pendentes = new ArrayList<>());
+        try {
+            var novo = new Indice();
+            transacao.executeWithoutResult(status -> {
+                try (var topicos = repository.streamAbertosParaIndexacao()) {
+                    topicos.forEach(topico -> novo.adicionar(preparar(topico)));
+                }
+            });
+
+            while (true) {
+                var ids = new ArrayList<Long>();
+                comLock(() -> {
+                    ids.addAll(pendentes);
+                    pendentes.clear();
+                    if (ids.isEmpty())
+                        indice = novo;
+                });
+                if (ids.isEmpty())
+                    return;
+
+                // o índice novo ainda não é visto por ninguém, então é alterado sem lock
+                ids.stream().distinct().forEach(id -> buscarAberto(id)
+                        .ifPresentOrElse(topico -> novo.adicionar(preparar(topico)), () -> novo.remover(id)));
+            }
+        } finally {
+            comLock(() -> pendentes = null);
+        }
+    }
+
+    @TransactionalEventListener
+    public void atualizar(TopicoAlterado evento) {
+        comLock(() -> {
+            if (pendentes != null)
+                pendentes.add(evento.idTopico());
+        });
+
+        switch (evento.tipo()) {
+            case FECHAMENTO, EXCLUSAO -> remover(evento.idTopico());
+            case CADASTRO, EDICAO -> buscarAberto(evento.idTopico())
+                    .ifPresentOrElse(this::indexar, () -> remover(evento.idTopico()));
+        }
+    }
+
+    public ResultadoBusca buscar(String consulta, FiltroTopicos filtro, int limite) {
+        var termos = AnalisadorTexto.termos(consulta).stream().distinct().toList();
+        if (termos.isEmpty())
+            return new ResultadoBusca(List.of(), 0);
+
+        var pontuacoes = new HashMap<Long, Double>();
+        lock.readLock().lock();
+        try {
+            var documentos = indice.documentos;
+            var totalDocumentos = documentos.size();
+            var tamanhoMedio = totalDocumentos == 0 ? 1 : (double) indice.somaTamanhos / totalDocumentos;
+
+            for (var termo : termos) {
+                var ocorrencias = indice.postings.get(termo);
+                if (ocorrencias == null)
+                    continue;
+
+                var idf = Math.log(1 + (totalDocumentos - ocorrencias.size() + 0.5) / (ocorrencias.size() + 0.5));
+                ocorrencias.forEach((id, frequencia) -> {
+                    var documento = documentos.get(id);
+                    if (!filtro.podeConter(documento.idCurso(), documento.categoria()))
+                        return;
+
+                    var normalizacao = K1 * (1 - B + B * documento.tamanho() / tamanhoMedio);
+                    pontuacoes.merge(id, idf * frequencia * (K1 + 1) / (frequencia + normalizacao), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ResultadoBusca(melhores(pontuacoes, limite), pontuacoes.size());
+    }
+
+    private Optional<DadosIndexacaoTopico> buscarAberto(Long id) {
+        return repository.findById(id).filter(Topico::estaAberto).map(DadosIndexacaoTopico::new);
+    }
+
+    private void indexar(DadosIndexacaoTopico topico) {
+        var preparado = preparar(topico);
+        comLock(() -> indice.adicionar(preparado));
+    }
+
+    private void remover(Long id) {
+        comLock(() -> indice.remover(id));
+    }
+
+    private void comLock(Runnable alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // a análise do texto roda fora do lock
+    private static DocumentoPreparado preparar(DadosIndexacaoTopico topico) {
+        var frequencias = new HashMap<String, Integer>();
+        AnalisadorTexto.termos(topico.titulo()).forEach(termo -> frequencias.merge(termo, PESO_TITULO, Integer::sum));
+        AnalisadorTexto.termos(topico.mensagem()).forEach(termo -> frequencias.merge(termo, 1, Integer::sum));
+
+        var tamanho = frequencias.values().stream().mapToInt(Integer::intValue).sum();
+        var documento = new Documento(topico.idCurso(), topico.categoria(), tamanho, frequencias.keySet().toArray(String[]::new));
+        return new DocumentoPreparado(topico.id(), documento, frequencias);
+    }
+
+    // heap de tamanho "limite" em vez de ordenar todos os resultados
+    private List<Long> melhores(Map<Long, Double> pontuacoes, int limite) {
+        var heap = new PriorityQueue<Map.Entry<Long, Double>>(Map.Entry.comparingByValue());
+        for (var pontuacao : pontuacoes.entrySet()) {
+            heap.offer(pontuacao);
+            if (heap.size() > limite)
+                heap.poll();
+        }
+
+        var melhores = new ArrayList<>(heap);
+        melhores.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+        return melhores.stream().map(Map.Entry::getKey).toList();
+    }
+
+    public record ResultadoBusca(List<Long> ids, int total) {
+    }
+
+    private record Documento(Long idCurso, Categoria categoria, int tamanho, String[] termos) {
+    }
+
+    private record DocumentoPreparado(Long id, Documento documento, Map<String, Integer> frequencias) {
+    }
+
+    private static class Indice {
+
+        // termo -> (id do tópico -> frequência ponderada)
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Documento> documentos = new HashMap<>();
+        private long somaTamanhos;
+
+        private void adicionar(DocumentoPreparado preparado) {
+            remover(preparado.id());
+            preparado.frequencias().forEach((termo, frequencia) -> postings.computeIfAbsent(termo, t -> new HashMap<>()).put(preparado.id(), frequencia));
+            documentos.put(preparado.id(), preparado.documento());
+            somaTamanhos += preparado.documento().tamanho();
+        }
+
+        private void remover(Long id) {
+            var documento = documentos.remove(id);
+            if (documento == null)
+                return;
+
+            somaTamanhos -= documento.tamanho();
+            for (var termo : documento.termos()) {
+                var ocorrencias = postings.get(termo);
+                ocorrencias.remove(id);
+                if (ocorrencias.isEmpty())
+                    postings.remove(termo);
+            }
+        }
+    }
+}
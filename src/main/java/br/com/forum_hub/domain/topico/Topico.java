@@ -3,6 +3,7 @@ package br.com.forum_hub.domain.topico;
 import br.com.forum_hub.domain.curso.Categoria;
 import br.com.forum_hub.domain.curso.Curso;
 import br.com.forum_hub.domain.usuario.Usuario;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -11,15 +12,21 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
+// o UPDATE do flush leva só as colunas alteradas, sem sobrescrever status e contador mantidos pelos UPDATEs atômicos do repositório
 @Entity
 @Table(name = "topicos")
+@DynamicUpdate
 public class Topico {
+    // sequência em tabela com alocação de 50 ids por vez: diferente de IDENTITY, permite ao Hibernate agrupar os INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topicos_seq")
+    @SequenceGenerator(name = "topicos_seq", sequenceName = "topicos_seq", allocationSize = 50)
     private Long id;
     private String titulo;
     private String mensagem;
@@ -38,6 +45,10 @@ public class Topico {
     @JoinColumn(name = "curso_id")
     private Curso curso;
 
+    // só é alterada pelo UPDATE atômico do repositório, nunca pelo flush da entidade
+    @Column(insertable = false, updatable = false)
+    private Long versao;
+
     @Deprecated
     public Topico(){}
 
@@ -77,6 +88,10 @@ public class Topico {
         return status;
     }
 
+    public Categoria getCategoria() {
+        return categoria;
+    }
+
     public Curso getCurso() {
         return curso;
     }
@@ -102,14 +117,6 @@ public class Topico {
         this.status = status;
     }
 
-    public void incrementarRespostas() {
-        this.quantidadeRespostas++;
-    }
-
-    public void decrementarRespostas() {
-        this.quantidadeRespostas--;
-    }
-
     public void fechar() {
         this.aberto = false;
     }
@@ -0,0 +1,22 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+
+public record TopicoAlterado(
+        TipoAlteracao tipo,
+        Long idTopico,
+        Long idCurso,
+        Categoria categoria,
+        Long idAutor
+) {
+    public TopicoAlterado(TipoAlteracao tipo, Topico topico) {
+        this(tipo, topico.getId(), topico.getCurso() == null ? null : topico.getCurso().getId(), topico.getCategoria(), topico.getAutor().getId());
+    }
+
+    public enum TipoAlteracao {
+        CADASTRO,
+        EDICAO,
+        FECHAMENTO,
+        EXCLUSAO
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.curso.Categoria;
+
+// publicado só quando a edição troca o tópico de curso
+public record TopicoMovido(
+        Long idTopico,
+        Long idCursoAnterior,
+        Categoria categoriaAnterior,
+        Long idCurso,
+        Categoria categoria
+) {
+}
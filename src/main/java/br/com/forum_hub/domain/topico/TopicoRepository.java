@@ -1,10 +1,70 @@
 package br.com.forum_hub.domain.topico;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TopicoRepository extends JpaRepository<Topico, Long>, JpaSpecificationExecutor<Topico> {
-}
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface TopicoRepository extends JpaRepository<Topico, Long>, JpaSpecificationExecutor<Topico>, TopicoRepositoryCustom {
+
+    // fetch size Integer.MIN_VALUE faz o driver do MySQL entregar as linhas uma a uma em vez de carregar o resultado inteiro
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new br.com.forum_hub.domain.topico.DadosIndexacaoTopico(t.id, t.titulo, t.mensagem, c.id, t.categoria)
+            from Topico t left join t.curso c
+            where t.aberto = true
+            """)
+    Stream<DadosIndexacaoTopico> streamAbertosParaIndexacao();
+
+    // o detalhe mostra o nome do curso, então a versão do curso entra junto com a do tópico
+    @Query("select concat(t.versao, '-', coalesce(c.versao, 0)) from Topico t left join t.curso c where t.id = :id")
+    Optional<String> buscarVersao(Long id);
+
+    @Modifying
+    @Query("update Topico t set t.versao = t.versao + 1 where t.id = :id")
+    int incrementarVersao(Long id);
+
+    @Modifying
+    @Query("""
+            update Topico t set t.versao = t.versao + 1
+            where t.autor.id = :idUsuario or t.id in (select r.topico.id from Resposta r where r.autor.id = :idUsuario)
+            """)
+    int incrementarVersaoDosTopicosDoParticipante(Long idUsuario);
 
+    @Query("select t.status from Topico t where t.id = :id")
+    Status buscarStatus(Long id);
+
+    @Modifying
+    @Query("update Topico t set t.quantidadeRespostas = t.quantidadeRespostas + :quantidade where t.id = :id")
+    int incrementarRespostas(Long id, int quantidade);
+
+    // o status vem antes no SET porque o MySQL avalia as atribuições da esquerda para a direita e o CASE precisa da quantidade antiga
+    @Modifying
+    @Query("""
+            update Topico t set
+                t.status = case when t.quantidadeRespostas <= 1 then br.com.forum_hub.domain.topico.Status.NAO_RESPONDIDO else t.status end,
+                t.quantidadeRespostas = t.quantidadeRespostas - 1
+            where t.id = :id
+            """)
+    int decrementarRespostas(Long id);
+
+    @Modifying
+    @Query("update Topico t set t.status = br.com.forum_hub.domain.topico.Status.RESPONDIDO where t.id = :id and t.status = br.com.forum_hub.domain.topico.Status.NAO_RESPONDIDO")
+    int marcarComoRespondido(Long id);
+
+    @Modifying
+    @Query("update Topico t set t.status = br.com.forum_hub.domain.topico.Status.RESOLVIDO where t.id = :id and t.status <> br.com.forum_hub.domain.topico.Status.RESOLVIDO")
+    int marcarComoResolvido(Long id);
+
+    @Modifying
+    @Query("update Topico t set t.status = br.com.forum_hub.domain.topico.Status.RESPONDIDO where t.id = :id and t.status = br.com.forum_hub.domain.topico.Status.RESOLVIDO")
+    int desmarcarComoResolvido(Long id);
+}
@@ -0,0 +1,16 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.infra.paginacao.CursorPaginacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TopicoRepositoryCustom {
+
+    List<DadosListagemTopico> listarDadosListagem(Specification<Topico> spec, Pageable paginacao, int limite);
+
+    long contar(Specification<Topico> spec);
+
+    List<DadosListagemTopico> listarAposCursor(Specification<Topico> spec, CursorPaginacao cursor, int limite);
+}
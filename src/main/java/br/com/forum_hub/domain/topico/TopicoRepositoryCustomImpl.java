@@ -0,0 +1,105 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.infra.paginacao.CursorPaginacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TopicoRepositoryCustomImpl implements TopicoRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public TopicoRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<DadosListagemTopico> listarDadosListagem(Specification<Topico> spec, Pageable paginacao, int limite) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(DadosListagemTopico.class);
+        var topico = query.from(Topico.class);
+
+        // projeta direto no DTO: autor e curso entram por join e as entidades (e os perfis do autor) nunca são carregadas
+        query.select(projecaoListagem(builder, topico));
+        aplicarFiltros(spec, topico, query, builder);
+        query.orderBy(QueryUtils.toOrders(paginacao.getSort(), topico, builder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) paginacao.getOffset())
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public List<DadosListagemTopico> listarAposCursor(Specification<Topico> spec, CursorPaginacao cursor, int limite) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(DadosListagemTopico.class);
+        var topico = query.from(Topico.class);
+
+        Specification<Topico> filtros = spec;
+        if (cursor != null)
+            filtros = filtros.and(aposCursor(cursor));
+
+        query.select(projecaoListagem(builder, topico));
+        aplicarFiltros(filtros, topico, query, builder);
+        query.orderBy(builder.asc(topico.get("dataCriacao")), builder.asc(topico.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public long contar(Specification<Topico> spec) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(Long.class);
+        var topico = query.from(Topico.class);
+
+        query.select(builder.count(topico));
+        aplicarFiltros(spec, topico, query, builder);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private CompoundSelection<DadosListagemTopico> projecaoListagem(CriteriaBuilder builder, Root<Topico> topico) {
+        var autor = topico.join("autor");
+        var curso = topico.join("curso", JoinType.LEFT);
+
+        return builder.construct(DadosListagemTopico.class,
+                topico.get("id"),
+                topico.get("titulo"),
+                topico.get("mensagem"),
+                autor.get("nomeUsuario"),
+                topico.get("status"),
+                topico.get("dataCriacao"),
+                topico.get("quantidadeRespostas"),
+                curso.get("nome"));
+    }
+
+    // (data_criacao, id) > (cursor): o ">=" na data deixa o MySQL resolver como range no índice em vez de avaliar o OR linha a linha
+    private Specification<Topico> aposCursor(CursorPaginacao cursor) {
+        return (root, query, builder) -> {
+            var dataCriacao = root.<LocalDateTime>get("dataCriacao");
+            return builder.and(
+                    builder.greaterThanOrEqualTo(dataCriacao, cursor.dataCriacao()),
+                    builder.or(
+                            builder.greaterThan(dataCriacao, cursor.dataCriacao()),
+                            builder.greaterThan(root.<Long>get("id"), cursor.id())));
+        };
+    }
+
+    private void aplicarFiltros(Specification<Topico> spec, Root<Topico> topico, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        var predicado = spec.toPredicate(topico, query, builder);
+        if (predicado != null)
+            query.where(predicado);
+    }
+}
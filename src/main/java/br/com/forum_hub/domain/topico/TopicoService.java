@@ -2,67 +2,169 @@ package br.com.forum_hub.domain.topico;
 
 import br.com.forum_hub.domain.autenticacao.HierarquiaService;
 import br.com.forum_hub.domain.curso.CursoService;
+import br.com.forum_hub.domain.perfil.PerfilNome;
 import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.domain.usuario.UsuarioService;
 import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import br.com.forum_hub.infra.paginacao.CursorPaginacao;
+import br.com.forum_hub.infra.paginacao.DadosPaginaCursor;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 public class TopicoService {
 
     private final TopicoRepository repository;
     private final CursoService cursoService;
     private final HierarquiaService hierarquiaService;
+    private final ContagemTopicos contagemTopicos;
+    private final CachePaginasTopicos cachePaginas;
+    private final IndiceBuscaTopicos indiceBusca;
+    private final UsuarioService usuarioService;
+    private final ApplicationEventPublisher eventos;
 
-    public TopicoService(TopicoRepository repository, CursoService cursoService, HierarquiaService hierarquiaService) {
+    public TopicoService(TopicoRepository repository, CursoService cursoService, HierarquiaService hierarquiaService, ContagemTopicos contagemTopicos,
+                         CachePaginasTopicos cachePaginas, IndiceBuscaTopicos indiceBusca, UsuarioService usuarioService, ApplicationEventPublisher eventos) {
         this.repository = repository;
         this.cursoService = cursoService;
         this.hierarquiaService = hierarquiaService;
+        this.contagemTopicos = contagemTopicos;
+        this.cachePaginas = cachePaginas;
+        this.indiceBusca = indiceBusca;
+        this.usuarioService = usuarioService;
+        this.eventos = eventos;
     }
 
     @Transactional
     public Topico cadastrar(DadosCadastroTopico dados, Usuario autor) {
         var curso = cursoService.buscarPeloId(dados.cursoId());
-        var topico = new Topico(dados, curso, autor);
-        return repository.save(topico);
+        usuarioService.registrarTopicos(autor.getId(), 1);
+        var topico = repository.save(new Topico(dados, curso, autor));
+        contagemTopicos.registrarMudanca(curso.getId(), topico.getCategoria(), null, topico.getStatus());
+        eventos.publishEvent(new TopicoAlterado(TopicoAlterado.TipoAlteracao.CADASTRO, topico));
+        return topico;
+    }
+
+    @Transactional
+    public List<Topico> cadastrarEmLote(List<DadosCadastroTopico> dados, Usuario autor) {
+        var cursos = cursoService.buscarPelosIds(dados.stream().map(DadosCadastroTopico::cursoId).collect(Collectors.toSet()));
+        usuarioService.registrarTopicos(autor.getId(), dados.size());
+        // com ids de sequência os INSERTs só vão ao banco no flush, agrupados pelo hibernate.jdbc.batch_size
+        var topicos = repository.saveAll(dados.stream().map(d -> new Topico(d, cursos.get(d.cursoId()), autor)).toList());
+
+        for (var topico : topicos) {
+            contagemTopicos.registrarMudanca(idCurso(topico), topico.getCategoria(), null, topico.getStatus());
+            eventos.publishEvent(new TopicoAlterado(TopicoAlterado.TipoAlteracao.CADASTRO, topico));
+        }
+        return topicos;
     }
-    public Page<DadosListagemTopico> listar(String categoria, Long idCurso, Boolean semResposta, Boolean solucionados, Pageable paginacao) {
-        Specification<Topico> spec = Specification.where(TopicoSpecification.estaAberto())
-                .and(TopicoSpecification.temCategoria(categoria))
-                .and(TopicoSpecification.temCursoId(idCurso))
-                .and(TopicoSpecification.estaSemResposta(semResposta))
-                .and(TopicoSpecification.estaSolucionado(solucionados));
 
-        Page<Topico> topicos = repository.findAll(spec, paginacao);
-        return topicos.map(DadosListagemTopico::new);
+    public Page<DadosListagemTopico> listar(FiltroTopicos filtro, Pageable paginacao) {
+        return cachePaginas.buscar(filtro, paginacao, () -> {
+            var topicos = repository.listarDadosListagem(filtro.especificacao(), paginacao, paginacao.getPageSize());
+            // o total vem do cache aproximado por filtro em vez de um COUNT a cada requisição
+            return PageableExecutionUtils.getPage(topicos, paginacao, () -> contagemTopicos.total(filtro));
+        });
+    }
+
+    public Slice<DadosListagemTopico> listarSemTotal(FiltroTopicos filtro, Pageable paginacao) {
+        // busca um item a mais só para saber se existe próxima página
+        var topicos = repository.listarDadosListagem(filtro.especificacao(), paginacao, paginacao.getPageSize() + 1);
+        var temProxima = topicos.size() > paginacao.getPageSize();
+        var conteudo = temProxima ? topicos.subList(0, paginacao.getPageSize()) : topicos;
+        return new SliceImpl<>(conteudo, paginacao, temProxima);
+    }
+
+    public DadosPaginaCursor<DadosListagemTopico> listarPorCursor(FiltroTopicos filtro, String cursor, int tamanho) {
+        // busca um item a mais só para saber se existe próxima página
+        var topicos = repository.listarAposCursor(filtro.especificacao(), CursorPaginacao.decodificar(cursor), tamanho + 1);
+        if (topicos.size() <= tamanho)
+            return new DadosPaginaCursor<>(topicos, null);
+
+        var conteudo = topicos.subList(0, tamanho);
+        var ultimo = conteudo.get(tamanho - 1);
+        return new DadosPaginaCursor<>(conteudo, new CursorPaginacao(ultimo.dataCriacao(), ultimo.id()).codificar());
+    }
+
+    public Page<DadosListagemTopico> buscar(String consulta, FiltroTopicos filtro, Pageable paginacao) {
+        var resultado = indiceBusca.buscar(consulta, filtro, (int) paginacao.getOffset() + paginacao.getPageSize());
+        var ids = resultado.ids().stream().skip(paginacao.getOffset()).toList();
+        if (ids.isEmpty())
+            return new PageImpl<>(List.<DadosListagemTopico>of(), paginacao, resultado.total());
+
+        // o índice só devolve ids; os dados vêm da mesma projeção da listagem e voltam na ordem de relevância
+        var spec = TopicoSpecification.temIdEm(ids).and(TopicoSpecification.estaAberto());
+        var topicos = repository.listarDadosListagem(spec, PageRequest.of(0, ids.size()), ids.size()).stream()
+                .collect(Collectors.toMap(DadosListagemTopico::id, Function.identity()));
+        var conteudo = ids.stream().map(topicos::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(conteudo, paginacao, resultado.total());
     }
 
     @Transactional
     public Topico atualizar(DadosAtualizacaoTopico dados, Usuario logado) {
         var topico = buscarPeloId(dados.id());
 
-        if(hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), "ROLE_MODERADOR"))
+        if(hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), PerfilNome.MODERADOR))
             throw new AccessDeniedException("Você não pode editar esse tópico!");
 
         var curso = cursoService.buscarPeloId(dados.cursoId());
-        return topico.atualizarInformacoes(dados, curso);
+        var idCursoAnterior = idCurso(topico);
+        var anterior = new TopicoAlterado(TopicoAlterado.TipoAlteracao.EDICAO, topico);
+        topico.atualizarInformacoes(dados, curso);
+        eventos.publishEvent(anterior);
+        if (!curso.getId().equals(idCursoAnterior)) {
+            eventos.publishEvent(new TopicoAlterado(TopicoAlterado.TipoAlteracao.EDICAO, topico));
+            eventos.publishEvent(new TopicoMovido(topico.getId(), idCursoAnterior, anterior.categoria(), curso.getId(), topico.getCategoria()));
+        }
+
+        if (topico.estaAberto() && !curso.getId().equals(idCursoAnterior)) {
+            contagemTopicos.registrarMudanca(idCursoAnterior, topico.getCategoria(), topico.getStatus(), null);
+            contagemTopicos.registrarMudanca(curso.getId(), topico.getCategoria(), null, topico.getStatus());
+        }
+        return topico;
     }
 
     @Transactional
     public void excluir(Long id, Usuario logado) {
         var topico = buscarPeloId(id);
 
-        if(hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), "ROLE_MODERADOR"))
+        if(hierarquiaService.usuarioNaoTemPermissoes(logado, topico.getAutor(), PerfilNome.MODERADOR))
             throw new AccessDeniedException("Você não pode apagar esse tópico!");
 
-        if (topico.getStatus() == Status.NAO_RESPONDIDO)
-            repository.deleteById(id);
-        else
+        if (topico.getStatus() != Status.NAO_RESPONDIDO)
             throw new RegraDeNegocioException("Você não pode apagar um tópico que já foi respondido.");
+
+        repository.deleteById(id);
+        usuarioService.registrarTopicos(topico.getAutor().getId(), -1);
+        if (topico.estaAberto())
+            contagemTopicos.registrarMudanca(idCurso(topico), topico.getCategoria(), topico.getStatus(), null);
+        eventos.publishEvent(new TopicoAlterado(TopicoAlterado.TipoAlteracao.EXCLUSAO, topico));
+    }
+
+    public DadosListagemTopico detalhar(Long id) {
+        // uma única consulta com autor e curso por join, sem carregar as entidades
+        return repository.listarDadosListagem(TopicoSpecification.temId(id), PageRequest.of(0, 1), 1).stream()
+                .findFirst()
+                .orElseThrow(() -> new RegraDeNegocioException("Tópico não encontrado!"));
+    }
+
+    public String buscarVersao(Long id) {
+        return repository.buscarVersao(id)
+                .orElseThrow(() -> new RegraDeNegocioException("Tópico não encontrado!"));
     }
 
     public Topico buscarPeloId(Long id) {
@@ -74,6 +176,43 @@ public class TopicoService {
     @Transactional
     public void fechar(Long id) {
         var topico = buscarPeloId(id);
+        if (!topico.estaAberto())
+            return;
+
         topico.fechar();
+        contagemTopicos.registrarMudanca(idCurso(topico), topico.getCategoria(), topico.getStatus(), null);
+        eventos.publishEvent(new TopicoAlterado(TopicoAlterado.TipoAlteracao.FECHAMENTO, topico));
+    }
+
+    // contador e status mudam por UPDATE atômico: respostas simultâneas não perdem incrementos e só uma faz a transição de status
+    public void registrarNovasRespostas(Topico topico, int quantidade) {
+        var respondido = repository.marcarComoRespondido(topico.getId()) > 0;
+        repository.incrementarRespostas(topico.getId(), quantidade);
+        if (respondido)
+            registrarMudancaStatus(topico, Status.NAO_RESPONDIDO, Status.RESPONDIDO);
+    }
+
+    public void registrarRespostaExcluida(Topico topico, boolean eraSolucao) {
+        repository.decrementarRespostas(topico.getId());
+        if (eraSolucao)
+            repository.desmarcarComoResolvido(topico.getId());
+        registrarMudancaStatus(topico, topico.getStatus(), repository.buscarStatus(topico.getId()));
+    }
+
+    public boolean registrarSolucao(Topico topico) {
+        if (repository.marcarComoResolvido(topico.getId()) == 0)
+            return false;
+
+        registrarMudancaStatus(topico, topico.getStatus(), Status.RESOLVIDO);
+        return true;
+    }
+
+    private void registrarMudancaStatus(Topico topico, Status statusAnterior, Status statusAtual) {
+        if (topico.estaAberto() && statusAnterior != statusAtual)
+            contagemTopicos.registrarMudanca(idCurso(topico), topico.getCategoria(), statusAnterior, statusAtual);
+    }
+
+    private Long idCurso(Topico topico) {
+        return topico.getCurso() == null ? null : topico.getCurso().getId();
     }
 }
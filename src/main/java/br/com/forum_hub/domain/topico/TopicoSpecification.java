@@ -2,6 +2,8 @@ package br.com.forum_hub.domain.topico;
 
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class TopicoSpecification {
 
     public static Specification<Topico> temCategoria(String categoria) {
@@ -12,6 +14,14 @@ public class TopicoSpecification {
         return (root, query, builder) -> idCurso == null ? null : builder.equal(root.get("curso").get("id"), idCurso);
     }
 
+    public static Specification<Topico> temId(Long id) {
+        return (root, query, builder) -> builder.equal(root.get("id"), id);
+    }
+
+    public static Specification<Topico> temIdEm(Collection<Long> ids) {
+        return (root, query, builder) -> root.get("id").in(ids);
+    }
+
     public static Specification<Topico> estaAberto() {
         return (root, query, builder) -> builder.isTrue(root.get("aberto"));
     }
@@ -0,0 +1,67 @@
+package br.com.forum_hub.domain.topico;
+
+import br.com.forum_hub.domain.resposta.RespostaAlterada;
+import br.com.forum_hub.domain.usuario.NomeUsuarioAlterado;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// roda dentro da transação que alterou o tópico, então a versão nova só fica visível junto com a alteração
+@Component
+public class VersaoTopicos {
+
+    private final TopicoRepository repository;
+
+    public VersaoTopicos(TopicoRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener
+    public void topicoAlterado(TopicoAlterado evento) {
+        if (evento.tipo() != TopicoAlterado.TipoAlteracao.CADASTRO)
+            incrementar(evento.idTopico());
+    }
+
+    @EventListener
+    public void respostaAlterada(RespostaAlterada evento) {
+        incrementar(evento.idTopico());
+    }
+
+    // raro, então um único UPDATE nos tópicos em que o usuário é autor ou respondeu
+    @EventListener
+    public void nomeUsuarioAlterado(NomeUsuarioAlterado evento) {
+        repository.incrementarVersaoDosTopicosDoParticipante(evento.idUsuario());
+    }
+
+    // acumula os tópicos da transação e incrementa cada um uma vez antes do commit, mesmo num lote com milhares de respostas
+    @SuppressWarnings("unchecked")
+    private void incrementar(Long idTopico) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            repository.incrementarVersao(idTopico);
+            return;
+        }
+
+        var pendentes = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            var topicos = new HashSet<Long>();
+            TransactionSynchronizationManager.bindResource(this, topicos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    topicos.forEach(repository::incrementarVersao);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(VersaoTopicos.this);
+                }
+            });
+            pendentes = topicos;
+        }
+        pendentes.add(idTopico);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.forum_hub.domain.usuario;
+
+import br.com.forum_hub.infra.memoria.CarregamentoCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class CachePerfisUsuarios {
+
+    // Optional.empty() guarda nomes inexistentes, para consultas repetidas a um nome errado não irem ao banco
+    private final AsyncCache<String, Optional<DadosPerfilUsuario>> cache;
+
+    public CachePerfisUsuarios(@Value("${forumhub.cache.perfis.tamanho-maximo}") long tamanhoMaximo,
+                               @Value("${forumhub.cache.perfis.expiracao}") Duration expiracao,
+                               @Value("${forumhub.cache.perfis.expiracao-negativa}") Duration expiracaoNegativa,
+                               MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new Expiry<String, Optional<DadosPerfilUsuario>>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Optional<DadosPerfilUsuario> perfil, long agora) {
+                        return (perfil.isPresent() ? expiracao : expiracaoNegativa).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Optional<DadosPerfilUsuario> perfil, long agora, long duracaoAtual) {
+                        return expireAfterCreate(chave, perfil, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Optional<DadosPerfilUsuario> perfil, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "perfis-usuarios");
+    }
+
+    public Optional<DadosPerfilUsuario> buscar(String nomeUsuario, Function<String, Optional<DadosPerfilUsuario>> carregador) {
+        return CarregamentoCache.buscar(cache, chave(nomeUsuario), carregador);
+    }
+
+    public void invalidar(String... nomesUsuario) {
+        var chaves = Arrays.stream(nomesUsuario).map(this::chave).toList();
+        cache.synchronous().invalidateAll(chaves);
+
+        // invalida de novo após o commit para não manter uma versão lida antes da alteração ser gravada
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidateAll(chaves);
+                }
+            });
+        }
+    }
+
+    private String chave(String nomeUsuario) {
+        return nomeUsuario.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.forum_hub.domain.usuario;
+
+public record DadosDisponibilidadeNome(String nome, boolean disponivel) {
+}
@@ -0,0 +1,4 @@
+package br.com.forum_hub.domain.usuario;
+
+public record DadosIdentificacaoUsuario(Long id, String nomeUsuario) {
+}
@@ -0,0 +1,8 @@
+package br.com.forum_hub.domain.usuario;
+
+public record DadosNomeUsuario(String nomeUsuario, Boolean verificado, Boolean ativo) {
+    // mesma regra de Usuario.podeSerMencionado
+    public boolean podeSerMencionado() {
+        return Boolean.TRUE.equals(verificado) && Boolean.TRUE.equals(ativo);
+    }
+}
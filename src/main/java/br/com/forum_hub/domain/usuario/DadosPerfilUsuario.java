@@ -0,0 +1,25 @@
+package br.com.forum_hub.domain.usuario;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+public record DadosPerfilUsuario(
+        Long id,
+        String email,
+        String nomeCompleto,
+        String nomeUsuario,
+        String miniBiografia,
+        String biografia,
+        List<String> perfis,
+        Integer quantidadeTopicos,
+        Integer quantidadeRespostas,
+        Integer quantidadeSolucoes
+) {
+
+    public DadosPerfilUsuario(Usuario usuario) {
+        this(usuario.getId(), usuario.getUsername(), usuario.getNomeCompleto(), usuario.getNomeUsuario(), usuario.getMiniBiografia(), usuario.getBiografia(),
+                usuario.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(),
+                usuario.getQuantidadeTopicos(), usuario.getQuantidadeRespostas(), usuario.getQuantidadeSolucoes());
+    }
+}
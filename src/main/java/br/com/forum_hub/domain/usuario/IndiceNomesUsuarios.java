@@ -0,0 +1,147 @@
+package br.com.forum_hub.domain.usuario;
+
+import br.com.forum_hub.infra.memoria.FiltroBloom;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+public class IndiceNomesUsuarios {
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+
+    private final UsuarioRepository repository;
+
+    private final int capacidadeMinima;
+
+    // copy-on-write: as leituras pegam o índice atual sem lock e cada alteração publica um array novo
+    private volatile Indice indice;
+
+    public IndiceNomesUsuarios(UsuarioRepository repository,
+                               @Value("${forumhub.usuarios.indice-nomes.capacidade}") int capacidadeMinima) {
+        this.repository = repository;
+        this.capacidadeMinima = capacidadeMinima;
+        this.indice = new Indice(new Entrada[0], new FiltroBloom(capacidadeMinima, TAXA_FALSO_POSITIVO), capacidadeMinima);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        var entradas = new ArrayList<Entrada>();
+        try (var nomes = repository.streamNomesUsuarios()) {
+            nomes.forEach(dados -> entradas.add(new Entrada(chave(dados.nomeUsuario()), dados.nomeUsuario(), dados.podeSerMencionado())));
+        }
+        entradas.sort(Comparator.comparing(Entrada::chave));
+
+        this.indice = montar(entradas);
+    }
+
+    public boolean disponivel(String nome) {
+        var chave = chave(nome);
+        var atual = indice;
+
+        // a maioria dos nomes digitados no cadastro não existe, e o filtro responde esses sem a busca binária
+        if (!atual.filtro().podeConter(chave))
+            return true;
+
+        var entradas = Arrays.asList(atual.entradas());
+        var posicao = posicao(entradas, chave);
+        return posicao == entradas.size() || !entradas.get(posicao).chave().equals(chave);
+    }
+
+    public List<String> sugerir(String prefixo, int limite) {
+        var chave = chave(prefixo);
+        var entradas = Arrays.asList(indice.entradas());
+        var sugestoes = new ArrayList<String>(limite);
+
+        for (int i = posicao(entradas, chave); i < entradas.size() && sugestoes.size() < limite && entradas.get(i).chave().startsWith(chave); i++) {
+            if (entradas.get(i).mencionavel())
+                sugestoes.add(entradas.get(i).nome());
+        }
+        return sugestoes;
+    }
+
+    // aplica só depois do commit, para um cadastro desfeito não deixar o nome marcado como ocupado
+    public void registrar(String nomeAnterior, Usuario usuario) {
+        var nome = usuario.getNomeUsuario();
+        var mencionavel = usuario.podeSerMencionado();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    atualizar(nomeAnterior, nome, mencionavel);
+                }
+            });
+        } else {
+            atualizar(nomeAnterior, nome, mencionavel);
+        }
+    }
+
+    private synchronized void atualizar(String nomeAnterior, String nome, boolean mencionavel) {
+        var atual = indice;
+        var entradas = new ArrayList<>(Arrays.asList(atual.entradas()));
+
+        if (nomeAnterior != null) {
+            var chaveAnterior = chave(nomeAnterior);
+            var posicao = posicao(entradas, chaveAnterior);
+            if (posicao < entradas.size() && entradas.get(posicao).chave().equals(chaveAnterior))
+                entradas.remove(posicao);
+        }
+
+        var entrada = new Entrada(chave(nome), nome, mencionavel);
+        var posicao = posicao(entradas, entrada.chave());
+        if (posicao < entradas.size() && entradas.get(posicao).chave().equals(entrada.chave()))
+            entradas.set(posicao, entrada);
+        else
+            entradas.add(posicao, entrada);
+
+        // o filtro de Bloom não remove elementos: nomes antigos continuam nele e só custam uma busca binária a mais
+        if (entradas.size() > atual.capacidade()) {
+            this.indice = montar(entradas);
+        } else {
+            atual.filtro().adicionar(entrada.chave());
+            this.indice = new Indice(entradas.toArray(Entrada[]::new), atual.filtro(), atual.capacidade());
+        }
+    }
+
+    private Indice montar(List<Entrada> entradas) {
+        var capacidade = Math.max(capacidadeMinima, entradas.size() * 2);
+        var filtro = new FiltroBloom(capacidade, TAXA_FALSO_POSITIVO);
+        entradas.forEach(entrada -> filtro.adicionar(entrada.chave()));
+        return new Indice(entradas.toArray(Entrada[]::new), filtro, capacidade);
+    }
+
+    // primeira posição cuja chave é maior ou igual à procurada
+    private static int posicao(List<Entrada> entradas, String chave) {
+        int inicio = 0, fim = entradas.size();
+        while (inicio < fim) {
+            var meio = (inicio + fim) >>> 1;
+            if (entradas.get(meio).chave().compareTo(chave) < 0)
+                inicio = meio + 1;
+            else
+                fim = meio;
+        }
+        return inicio;
+    }
+
+    private static String chave(String nome) {
+        return nome.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entrada(String chave, String nome, boolean mencionavel) {
+    }
+
+    private record Indice(Entrada[] entradas, FiltroBloom filtro, int capacidade) {
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.forum_hub.domain.usuario;
 import br.com.forum_hub.domain.perfil.Perfil;
+import br.com.forum_hub.domain.perfil.PerfilNome;
 import br.com.forum_hub.infra.exception.RegraDeNegocioException;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
@@ -23,12 +24,24 @@ public class Usuario implements UserDetails {
     private String email;
     private String senha;
     private String nomeUsuario;
+    // colunas geradas pelo banco (LOWER) e indexadas; as buscas sem distinção de maiúsculas vão por elas
+    @Column(insertable = false, updatable = false)
+    private String emailNormalizado;
+    @Column(insertable = false, updatable = false)
+    private String nomeUsuarioNormalizado;
     private String biografia;
     private String miniBiografia;
     private Boolean verificado;
     private String token;
     private LocalDateTime expiracaoToken;
     private Boolean ativo;
+    // contadores do perfil, alterados só por UPDATE atômico no repositório
+    @Column(insertable = false, updatable = false)
+    private Integer quantidadeTopicos;
+    @Column(insertable = false, updatable = false)
+    private Integer quantidadeRespostas;
+    @Column(insertable = false, updatable = false)
+    private Integer quantidadeSolucoes;
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "usuarios_perfis",
             joinColumns = @JoinColumn(name = "usuario_id"),
@@ -52,11 +65,24 @@ public class Usuario implements UserDetails {
         this.perfis.add(perfil);
     }
 
+    public Usuario(Long id, String email, String nomeUsuario, List<PerfilNome> perfis) {
+        this.id = id;
+        this.email = email;
+        this.nomeUsuario = nomeUsuario;
+        this.verificado = true;
+        this.ativo = true;
+        perfis.forEach(perfil -> this.perfis.add(new Perfil(perfil)));
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return perfis;
     }
 
+    public List<PerfilNome> getNomesPerfis() {
+        return perfis.stream().map(Perfil::getNome).toList();
+    }
+
     @Override
     public String getPassword() {
         return senha;
@@ -87,6 +113,18 @@ public class Usuario implements UserDetails {
         return id;
     }
 
+    public Integer getQuantidadeTopicos() {
+        return quantidadeTopicos;
+    }
+
+    public Integer getQuantidadeRespostas() {
+        return quantidadeRespostas;
+    }
+
+    public Integer getQuantidadeSolucoes() {
+        return quantidadeSolucoes;
+    }
+
     public String getToken() {
         return token;
     }
@@ -107,6 +145,11 @@ public class Usuario implements UserDetails {
         return ativo;
     }
 
+    // reativar não verifica o email, então uma conta nunca verificada continua fora das sugestões
+    public boolean podeSerMencionado() {
+        return verificado && ativo;
+    }
+
     public void desativar() {
         this.ativo = false;
     }
@@ -1,16 +1,53 @@
 package br.com.forum_hub.domain.usuario;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
-    Optional<Usuario> findByEmailIgnoreCaseAndVerificadoTrue(String email);
+    // o lower fica só do lado do parâmetro, a coluna normalizada é comparada direto e a busca usa o índice único
+    @Query("select u from Usuario u where u.emailNormalizado = lower(:email) and u.verificado = true")
+    Optional<Usuario> buscarVerificadoPeloEmail(String email);
+
+    // consultas separadas em vez de um OR: cada uma é uma busca direta no próprio índice
+    @Query("select count(u) > 0 from Usuario u where u.emailNormalizado = lower(:email)")
+    boolean existeComEmail(String email);
 
-    Optional<Usuario> findByEmailIgnoreCaseOrNomeUsuarioIgnoreCase(String email, String nomeUsuario);
+    @Query("select count(u) > 0 from Usuario u where u.nomeUsuarioNormalizado = lower(:nomeUsuario)")
+    boolean existeComNomeUsuario(String nomeUsuario);
 
     Optional<Usuario> findByToken(String codigo);
 
-    Optional<Usuario> findByNomeUsuarioIgnoreCaseAndVerificadoTrueAndAtivoTrue(String nomeUsuario);
+    @Query("select u from Usuario u where u.nomeUsuarioNormalizado = lower(:nomeUsuario) and u.verificado = true and u.ativo = true")
+    Optional<Usuario> buscarAtivoPeloNomeUsuario(String nomeUsuario);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new br.com.forum_hub.domain.usuario.DadosNomeUsuario(u.nomeUsuario, u.verificado, u.ativo) from Usuario u")
+    Stream<DadosNomeUsuario> streamNomesUsuarios();
+
+    @Query("select new br.com.forum_hub.domain.usuario.DadosIdentificacaoUsuario(u.id, u.nomeUsuario) from Usuario u where u.id in :ids")
+    List<DadosIdentificacaoUsuario> buscarNomesPelosIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("update Usuario u set u.quantidadeTopicos = u.quantidadeTopicos + :quantidade where u.id = :id")
+    int incrementarTopicos(Long id, int quantidade);
+
+    @Modifying
+    @Query("update Usuario u set u.quantidadeRespostas = u.quantidadeRespostas + :quantidade where u.id = :id")
+    int incrementarRespostas(Long id, int quantidade);
+
+    @Modifying
+    @Query("update Usuario u set u.quantidadeSolucoes = u.quantidadeSolucoes + :quantidade where u.id = :id")
+    int incrementarSolucoes(Long id, int quantidade);
 }
\ No newline at end of file
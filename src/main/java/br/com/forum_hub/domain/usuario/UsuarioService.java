@@ -1,13 +1,16 @@
 package br.com.forum_hub.domain.usuario;
 
 import br.com.forum_hub.domain.autenticacao.HierarquiaService;
+import br.com.forum_hub.domain.autenticacao.TokenAtualizacaoService;
 import br.com.forum_hub.domain.perfil.DadosPerfil;
 import br.com.forum_hub.domain.perfil.PerfilNome;
 import br.com.forum_hub.domain.perfil.PerfilRepository;
 import br.com.forum_hub.infra.email.EmailService;
 import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import br.com.forum_hub.infra.seguranca.CacheUsuariosAutenticados;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,7 +18,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 
 @Service
 public class UsuarioService implements UserDetailsService {
@@ -30,25 +37,39 @@ public class UsuarioService implements UserDetailsService {
 
     private final HierarquiaService  hierarquiaService;
 
-    public UsuarioService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, EmailService emailService, PerfilRepository perfilRepository, HierarquiaService hierarquiaService) {
+    private final CacheUsuariosAutenticados cacheUsuarios;
+
+    private final TokenAtualizacaoService tokenAtualizacaoService;
+
+    private final IndiceNomesUsuarios indiceNomes;
+
+    private final CachePerfisUsuarios cachePerfis;
+
+    private final ApplicationEventPublisher eventos;
+
+    public UsuarioService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, EmailService emailService, PerfilRepository perfilRepository, HierarquiaService hierarquiaService, CacheUsuariosAutenticados cacheUsuarios, TokenAtualizacaoService tokenAtualizacaoService, IndiceNomesUsuarios indiceNomes, CachePerfisUsuarios cachePerfis, ApplicationEventPublisher eventos) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.perfilRepository = perfilRepository;
         this.hierarquiaService = hierarquiaService;
+        this.cacheUsuarios = cacheUsuarios;
+        this.tokenAtualizacaoService = tokenAtualizacaoService;
+        this.indiceNomes = indiceNomes;
+        this.cachePerfis = cachePerfis;
+        this.eventos = eventos;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return usuarioRepository.findByEmailIgnoreCaseAndVerificadoTrue(username)
+        return usuarioRepository.buscarVerificadoPeloEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("O usuário não foi encontrado!"));
     }
 
     @Transactional
     public Usuario cadastrar(@Valid DadosCadastroUsuario dados) {
-        Optional<Usuario> usuarioExistente = usuarioRepository.findByEmailIgnoreCaseOrNomeUsuarioIgnoreCase(dados.email(), dados.nomeUsuario());
-
-        if (usuarioExistente.isPresent()) {
+        // nome já ocupado é recusado pelo índice em memória antes de ir ao banco e de gerar o hash da senha
+        if (!indiceNomes.disponivel(dados.nomeUsuario()) || usuarioRepository.existeComEmail(dados.email()) || usuarioRepository.existeComNomeUsuario(dados.nomeUsuario())) {
             throw new RegraDeNegocioException("Já existe uma conta cadastrada com esse email ou nome de usuário!");
         }
 
@@ -60,7 +81,10 @@ public class UsuarioService implements UserDetailsService {
 
         emailService.enviarEmailVerificacao(usuario);
 
-        return usuarioRepository.save(usuario);
+        usuarioRepository.save(usuario);
+        indiceNomes.registrar(null, usuario);
+
+        return usuario;
     }
 
     @Transactional
@@ -68,21 +92,73 @@ public class UsuarioService implements UserDetailsService {
         var usuario = usuarioRepository.findByToken(codigo).orElseThrow();
 
         usuario.verificar();
+        indiceNomes.registrar(null, usuario);
+        cachePerfis.invalidar(usuario.getNomeUsuario());
+    }
+
+    // os contadores chegam no perfil com o atraso da expiração do cache, em troca de não invalidá-lo a cada postagem
+    public DadosPerfilUsuario exibirPerfil(String nomeUsuario) {
+        return cachePerfis.buscar(nomeUsuario, nome -> usuarioRepository.buscarAtivoPeloNomeUsuario(nome).map(DadosPerfilUsuario::new))
+                .orElseThrow(() -> new RegraDeNegocioException("Usuário não encontrado!"));
+    }
+
+    public Map<Long, String> buscarNomesPelosIds(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return Map.of();
+
+        return usuarioRepository.buscarNomesPelosIds(ids).stream()
+                .collect(Collectors.toMap(DadosIdentificacaoUsuario::id, DadosIdentificacaoUsuario::nomeUsuario));
+    }
+
+    // contadores mudam por UPDATE atômico; quem chama faz isso antes do INSERT, pelo mesmo motivo do contador de respostas do tópico
+    public void registrarTopicos(Long idUsuario, int quantidade) {
+        usuarioRepository.incrementarTopicos(idUsuario, quantidade);
+    }
+
+    public void registrarRespostas(Long idUsuario, int quantidade) {
+        usuarioRepository.incrementarRespostas(idUsuario, quantidade);
+    }
+
+    public void registrarSolucoes(Long idUsuario, int quantidade) {
+        usuarioRepository.incrementarSolucoes(idUsuario, quantidade);
+    }
+
+    public DadosDisponibilidadeNome verificarDisponibilidade(String nome) {
+        return new DadosDisponibilidadeNome(nome, !nome.isBlank() && indiceNomes.disponivel(nome));
     }
 
-    public Usuario buscarPeloNomeUsuario(String nomeUsuario) {
-        return usuarioRepository.findByNomeUsuarioIgnoreCaseAndVerificadoTrueAndAtivoTrue(nomeUsuario).orElseThrow(
-                () -> new RegraDeNegocioException("Usuário não encontrado!"));
+    public List<String> sugerirNomes(String prefixo, int limite) {
+        if (prefixo.isBlank())
+            return List.of();
+
+        return indiceNomes.sugerir(prefixo, limite);
     }
 
     @Transactional
-    public Usuario editarPerfil(Usuario usuario, DadosEdicaoUsuario dados) {
-        return usuario.alterarDados(dados);
+    public Usuario editarPerfil(Usuario logado, DadosEdicaoUsuario dados) {
+        var usuario = carregar(logado);
+        var nomeAnterior = usuario.getNomeUsuario();
+
+        if (dados.nomeUsuario() != null && !dados.nomeUsuario().equalsIgnoreCase(nomeAnterior)
+                && usuarioRepository.existeComNomeUsuario(dados.nomeUsuario())) {
+            throw new RegraDeNegocioException("Já existe uma conta cadastrada com esse nome de usuário!");
+        }
+
+        cacheUsuarios.invalidar(usuario);
+        usuario.alterarDados(dados);
+        indiceNomes.registrar(nomeAnterior, usuario);
+        cachePerfis.invalidar(nomeAnterior, usuario.getNomeUsuario());
+        // o nome aparece no detalhe dos tópicos e das respostas do usuário, que são servidos com ETag
+        if (!usuario.getNomeUsuario().equals(nomeAnterior))
+            eventos.publishEvent(new NomeUsuarioAlterado(usuario.getId()));
+        return usuario;
     }
 
     @Transactional
     public void alterarSenha(DadosAlteracaoSenha dados, Usuario logado) {
-        if(!passwordEncoder.matches(dados.senhaAtual(), logado.getPassword())){
+        var usuario = carregar(logado);
+
+        if(!passwordEncoder.matches(dados.senhaAtual(), usuario.getPassword())){
             throw new RegraDeNegocioException("Senha digitada não confere com senha atual!");
         }
 
@@ -91,17 +167,22 @@ public class UsuarioService implements UserDetailsService {
         }
 
         String senhaCriptografada = passwordEncoder.encode(dados.novaSenha());
-        logado.alterarSenha(senhaCriptografada);
+        usuario.alterarSenha(senhaCriptografada);
+        cacheUsuarios.invalidar(usuario);
     }
 
     @Transactional
     public void desativarUsuario(Long id, Usuario logado) {
         var usuario = usuarioRepository.findById(id).orElseThrow();
 
-        if(hierarquiaService.usuarioNaoTemPermissoes(logado, usuario, "ROLE_ADMIN"))
+        if(hierarquiaService.usuarioNaoTemPermissoes(logado, usuario, PerfilNome.ADMIN))
             throw new AccessDeniedException("Não é possivel realizar essa operação!");
 
         usuario.desativar();
+        cacheUsuarios.invalidar(usuario);
+        indiceNomes.registrar(null, usuario);
+        cachePerfis.invalidar(usuario.getNomeUsuario());
+        tokenAtualizacaoService.revogarTodos(usuario.getId());
     }
 
     @Transactional
@@ -110,6 +191,8 @@ public class UsuarioService implements UserDetailsService {
         var perfil = perfilRepository.findByNome(dados.perfilNome());
 
         usuario.adicionarPerfil(perfil);
+        cacheUsuarios.invalidar(usuario);
+        cachePerfis.invalidar(usuario.getNomeUsuario());
 
         return usuario;
     }
@@ -120,6 +203,8 @@ public class UsuarioService implements UserDetailsService {
         var perfil = perfilRepository.findByNome(dados.perfilNome());
 
         usuario.removerPerfil(perfil);
+        cacheUsuarios.invalidar(usuario);
+        cachePerfis.invalidar(usuario.getNomeUsuario());
 
         return usuario;
     }
@@ -128,5 +213,13 @@ public class UsuarioService implements UserDetailsService {
     public void reativarUsuario(Long id) {
         var usuario = usuarioRepository.findById(id).orElseThrow();
         usuario.reativar();
+        cacheUsuarios.invalidar(usuario);
+        indiceNomes.registrar(null, usuario);
+        cachePerfis.invalidar(usuario.getNomeUsuario());
+    }
+
+    private Usuario carregar(Usuario logado) {
+        // o usuário logado pode vir do cache ou das claims do token, então a entidade gerenciada é lida aqui
+        return usuarioRepository.findById(logado.getId()).orElseThrow();
     }
 }
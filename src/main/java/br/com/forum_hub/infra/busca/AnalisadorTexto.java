@@ -0,0 +1,65 @@
+package br.com.forum_hub.infra.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class AnalisadorTexto {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "ao", "aos", "de", "da", "do", "das", "dos", "e", "em", "no", "na", "nos", "nas",
+            "um", "uma", "uns", "umas", "para", "pra", "por", "pelo", "pela", "com", "sem", "que", "se", "como",
+            "mais", "mas", "ou", "eu", "me", "meu", "minha", "voce", "ele", "ela", "isso", "esse", "essa", "este",
+            "esta", "ja", "nao", "sim", "ha", "foi", "ser", "ter", "tem", "sao", "qual", "quando", "onde");
+
+    private AnalisadorTexto() {
+    }
+
+    public static List<String> termos(String texto) {
+        var termos = new ArrayList<String>();
+        if (texto == null)
+            return termos;
+
+        var normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (var palavra : SEPARADORES.split(normalizado)) {
+            if (palavra.length() < 2 || STOPWORDS.contains(palavra))
+                continue;
+            termos.add(radical(palavra));
+        }
+        return termos;
+    }
+
+    // redução leve: tira plural, advérbio em "mente" e a vogal temática, o bastante para "configurações" e "configuração" caírem no mesmo termo
+    private static String radical(String palavra) {
+        if (palavra.length() <= 3 || palavra.chars().anyMatch(Character::isDigit))
+            return palavra;
+
+        if (palavra.endsWith("mente") && palavra.length() > 7)
+            palavra = palavra.substring(0, palavra.length() - 5);
+        else if (palavra.endsWith("oes") || palavra.endsWith("aes"))
+            palavra = palavra.substring(0, palavra.length() - 3) + "ao";
+        else if (palavra.endsWith("ais"))
+            palavra = palavra.substring(0, palavra.length() - 2) + "l";
+        else if (palavra.endsWith("eis"))
+            palavra = palavra.substring(0, palavra.length() - 3) + "el";
+        else if (palavra.endsWith("ns"))
+            palavra = palavra.substring(0, palavra.length() - 2) + "m";
+        else if (palavra.endsWith("res") || palavra.endsWith("zes"))
+            palavra = palavra.substring(0, palavra.length() - 2);
+        else if (palavra.endsWith("s") && !palavra.endsWith("ss"))
+            palavra = palavra.substring(0, palavra.length() - 1);
+
+        var ultima = palavra.charAt(palavra.length() - 1);
+        if (palavra.length() > 3 && (ultima == 'a' || ultima == 'o' || ultima == 'e'))
+            palavra = palavra.substring(0, palavra.length() - 1);
+
+        return palavra;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.forum_hub.infra.email;
+
+import java.time.LocalDateTime;
+
+public record DadosFilaEmails(Long pendentes, LocalDateTime maisAntigo) {
+}
@@ -0,0 +1,135 @@
+package br.com.forum_hub.infra.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+@Component
+public class DespachanteEmails {
+
+    private static final String NOME_ENVIADOR = "Forum Hub";
+
+    private final FilaEmails fila;
+    private final JavaMailSender enviadorEmail;
+    private final String remetente;
+    private final int concorrencia;
+    private final int tamanhoLote;
+    private final SimpleAsyncTaskExecutor executor;
+
+    private final Counter enviados;
+    private final Counter falhas;
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong atrasoSegundos = new AtomicLong();
+
+    public DespachanteEmails(FilaEmails fila,
+                             JavaMailSender enviadorEmail,
+                             @Value("${spring.mail.username}") String remetente,
+                             @Value("${forumhub.emails.concorrencia}") int concorrencia,
+                             @Value("${forumhub.emails.lote}") int tamanhoLote,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+                             MeterRegistry registry) {
+        this.fila = fila;
+        this.enviadorEmail = enviadorEmail;
+        this.remetente = remetente;
+        this.concorrencia = concorrencia;
+        this.tamanhoLote = tamanhoLote;
+
+        // no máximo "concorrencia" conexões SMTP abertas ao mesmo tempo; segue o perfil virtual quando ele está ativo
+        this.executor = new SimpleAsyncTaskExecutor("despachante-emails-");
+        this.executor.setConcurrencyLimit(concorrencia);
+        this.executor.setVirtualThreads(threadsVirtuais);
+
+        this.enviados = Counter.builder("forumhub.emails.enviados").register(registry);
+        this.falhas = Counter.builder("forumhub.emails.falhas").register(registry);
+        Gauge.builder("forumhub.emails.pendentes", pendentes, AtomicLong::get).register(registry);
+        Gauge.builder("forumhub.emails.atraso", atrasoSegundos, AtomicLong::get).baseUnit("seconds").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${forumhub.emails.intervalo}")
+    public void despachar() {
+        var trabalhadores = IntStream.range(0, concorrencia)
+                .mapToObj(i -> CompletableFuture.runAsync(this::drenar, executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(trabalhadores).join();
+
+        var resumo = fila.resumir();
+        pendentes.set(resumo.pendentes());
+        atrasoSegundos.set(resumo.maisAntigo() == null ? 0 : Duration.between(resumo.maisAntigo(), LocalDateTime.now()).toSeconds());
+    }
+
+    private void drenar() {
+        List<EmailPendente> lote;
+        while (!(lote = fila.reservar(tamanhoLote)).isEmpty())
+            enviar(lote);
+    }
+
+    private void enviar(List<EmailPendente> lote) {
+        var mensagens = new LinkedHashMap<MimeMessage, Long>();
+        var erros = new HashMap<Long, String>();
+        for (var email : lote) {
+            try {
+                mensagens.put(criarMensagem(email), email.getId());
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                erros.put(email.getId(), e.getMessage());
+            }
+        }
+
+        var enviadosLote = new ArrayList<>(mensagens.values());
+        if (!mensagens.isEmpty()) {
+            try {
+                // o JavaMailSenderImpl manda todas as mensagens do array pela mesma conexão SMTP
+                enviadorEmail.send(mensagens.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty())
+                    falharTodos(mensagens.values(), enviadosLote, erros, e);
+                e.getFailedMessages().forEach((mensagem, erro) -> {
+                    var id = mensagens.get(mensagem);
+                    enviadosLote.remove(id);
+                    erros.put(id, erro.getMessage());
+                });
+            } catch (MailException e) {
+                falharTodos(mensagens.values(), enviadosLote, erros, e);
+            }
+        }
+
+        fila.concluir(enviadosLote, erros);
+        enviados.increment(enviadosLote.size());
+        falhas.increment(erros.size());
+    }
+
+    private void falharTodos(Iterable<Long> ids, List<Long> enviadosLote, HashMap<Long, String> erros, Exception e) {
+        enviadosLote.clear();
+        ids.forEach(id -> erros.put(id, e.getMessage()));
+    }
+
+    private MimeMessage criarMensagem(EmailPendente email) throws MessagingException, UnsupportedEncodingException {
+        var mensagem = enviadorEmail.createMimeMessage();
+        var helper = new MimeMessageHelper(mensagem, "UTF-8");
+        helper.setFrom(remetente, NOME_ENVIADOR);
+        helper.setTo(email.getDestinatario());
+        helper.setSubject(email.getAssunto());
+        helper.setText(email.getConteudo(), true);
+        return mensagem;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.forum_hub.infra.email;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "emails_pendentes")
+public class EmailPendente {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String destinatario;
+    private String assunto;
+    private String conteudo;
+    private LocalDateTime criadoEm;
+    private LocalDateTime proximaTentativa;
+    private Integer tentativas;
+    private String ultimoErro;
+
+    @Deprecated
+    public EmailPendente(){}
+
+    public EmailPendente(String destinatario, String assunto, String conteudo) {
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.conteudo = conteudo;
+        this.criadoEm = LocalDateTime.now();
+        this.proximaTentativa = this.criadoEm;
+        this.tentativas = 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public String getConteudo() {
+        return conteudo;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public void reservarAte(LocalDateTime limite) {
+        this.proximaTentativa = limite;
+    }
+
+    public void registrarFalha(String erro, LocalDateTime proximaTentativa) {
+        this.tentativas++;
+        this.ultimoErro = erro == null ? null : erro.substring(0, Math.min(erro.length(), 500));
+        this.proximaTentativa = proximaTentativa;
+    }
+}
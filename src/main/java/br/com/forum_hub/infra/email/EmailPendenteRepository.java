@@ -0,0 +1,24 @@
+package br.com.forum_hub.infra.email;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailPendenteRepository extends JpaRepository<EmailPendente, Long> {
+
+    // timeout -2 vira FOR UPDATE SKIP LOCKED: instâncias concorrentes pegam lotes diferentes em vez de esperar umas pelas outras
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EmailPendente e where e.proximaTentativa <= :agora and e.tentativas < :maximoTentativas order by e.proximaTentativa")
+    List<EmailPendente> buscarProntosParaEnvio(LocalDateTime agora, int maximoTentativas, Limit limite);
+
+    @Query("select new br.com.forum_hub.infra.email.DadosFilaEmails(count(e), min(e.criadoEm)) from EmailPendente e where e.tentativas < :maximoTentativas")
+    DadosFilaEmails resumirFila(int maximoTentativas);
+}
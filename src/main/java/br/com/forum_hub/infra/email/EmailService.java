@@ -1,44 +1,22 @@
 package br.com.forum_hub.infra.email;
 
 import br.com.forum_hub.domain.usuario.Usuario;
-import br.com.forum_hub.infra.exception.RegraDeNegocioException;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.io.UnsupportedEncodingException;
-
 @Service
 public class EmailService {
 
-    private final JavaMailSender enviadorEmail;
-    private static final String EMAIL_ORIGEM = System.getenv("EMAIL_USERNAME");
-    private static final String NOME_ENVIADOR = "Forum Hub";
+    private final FilaEmails fila;
 
     public static final String URL_SITE = "http://localhost:8080"; //"forumhub.com.br"
 
-    public EmailService(JavaMailSender enviadorEmail) {
-        this.enviadorEmail = enviadorEmail;
+    public EmailService(FilaEmails fila) {
+        this.fila = fila;
     }
 
-    @Async
+    // grava na fila (emails_pendentes) dentro da transação de quem chamou; o DespachanteEmails envia depois do commit
     public void enviarEmail(String emailUsuario, String assunto, String conteudo) {
-        MimeMessage message = enviadorEmail.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message);
-
-        try {
-            helper.setFrom(EMAIL_ORIGEM, NOME_ENVIADOR);
-            helper.setTo(emailUsuario);
-            helper.setSubject(assunto);
-            helper.setText(conteudo, true);
-        } catch(MessagingException | UnsupportedEncodingException e){
-            throw new RegraDeNegocioException("Erro ao enviar email");
-        }
-
-        enviadorEmail.send(message);
+        fila.enfileirar(emailUsuario, assunto, conteudo);
     }
 
     public void enviarEmailVerificacao(Usuario usuario) {
@@ -0,0 +1,62 @@
+package br.com.forum_hub.infra.email;
+
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// cada operação é uma transação curta: o envio SMTP acontece entre elas, sem segurar conexão nem lock no banco
+@Component
+public class FilaEmails {
+
+    private static final Duration RESERVA = Duration.ofMinutes(5);
+    private static final Duration ESPERA_INICIAL = Duration.ofSeconds(30);
+    private static final Duration ESPERA_MAXIMA = Duration.ofHours(1);
+
+    private final EmailPendenteRepository repository;
+    private final int maximoTentativas;
+
+    public FilaEmails(EmailPendenteRepository repository, @Value("${forumhub.emails.tentativas}") int maximoTentativas) {
+        this.repository = repository;
+        this.maximoTentativas = maximoTentativas;
+    }
+
+    @Transactional
+    public void enfileirar(String destinatario, String assunto, String conteudo) {
+        repository.save(new EmailPendente(destinatario, assunto, conteudo));
+    }
+
+    // a reserva adia a próxima tentativa; se a instância cair no meio do envio, o lote volta para a fila quando ela expirar
+    @Transactional
+    public List<EmailPendente> reservar(int tamanhoLote) {
+        var agora = LocalDateTime.now();
+        var emails = repository.buscarProntosParaEnvio(agora, maximoTentativas, Limit.of(tamanhoLote));
+        emails.forEach(email -> email.reservarAte(agora.plus(RESERVA)));
+        return emails;
+    }
+
+    @Transactional
+    public void concluir(Collection<Long> enviados, Map<Long, String> falhas) {
+        if (!enviados.isEmpty())
+            repository.deleteAllByIdInBatch(enviados);
+
+        repository.findAllById(falhas.keySet()).forEach(email ->
+                email.registrarFalha(falhas.get(email.getId()), LocalDateTime.now().plus(espera(email.getTentativas()))));
+    }
+
+    public DadosFilaEmails resumir() {
+        return repository.resumirFila(maximoTentativas);
+    }
+
+    // 30s, 1min, 2min, ... até 1h entre tentativas
+    private Duration espera(int tentativasAnteriores) {
+        var espera = ESPERA_INICIAL.multipliedBy(1L << Math.min(tentativasAnteriores, 16));
+        return espera.compareTo(ESPERA_MAXIMA) > 0 ? ESPERA_MAXIMA : espera;
+    }
+}
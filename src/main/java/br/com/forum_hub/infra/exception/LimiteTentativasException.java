@@ -0,0 +1,9 @@
+package br.com.forum_hub.infra.exception;
+
+public class LimiteTentativasException extends RuntimeException {
+
+    public LimiteTentativasException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.forum_hub.infra.exception;
+
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    public ServicoSobrecarregadoException(String message) {
+        super(message);
+    }
+
+}
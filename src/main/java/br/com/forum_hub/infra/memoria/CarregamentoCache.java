@@ -0,0 +1,40 @@
+package br.com.forum_hub.infra.memoria;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+public class CarregamentoCache {
+
+    // o carregador de um Cache.get roda dentro de um compute do ConcurrentHashMap (synchronized), que prenderia a thread virtual
+    // ao carrier durante a consulta. aqui o compute só instala um future vazio e a consulta roda na própria thread, fora do monitor;
+    // como o future fica no mapa durante a carga, um invalidate nesse meio tempo o descarta e o valor lido antes não volta ao cache
+    public static <K, V> V buscar(AsyncCache<K, V> cache, K chave, Function<K, V> carregador) {
+        var novo = new CompletableFuture<V>();
+        var atual = cache.get(chave, (k, executor) -> novo);
+        if (atual != novo)
+            return aguardar(atual);
+
+        try {
+            var valor = carregador.apply(chave);
+            novo.complete(valor);
+            return valor;
+        } catch (RuntimeException e) {
+            // future com erro sai do cache sozinho, e quem estava esperando recebe a mesma exceção
+            novo.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa)
+                throw causa;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.forum_hub.infra.memoria;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+
+    private final int quantidadeBits;
+
+    private final int quantidadeHashes;
+
+    public FiltroBloom(int elementosEsperados, double taxaFalsoPositivo) {
+        var elementos = Math.max(1, elementosEsperados);
+        var bitsNecessarios = Math.ceil(-elementos * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+
+        this.quantidadeBits = (int) Math.max(64, Math.min(bitsNecessarios, Integer.MAX_VALUE - 64));
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / elementos * Math.log(2)));
+        this.bits = new AtomicLongArray((quantidadeBits + 63) / 64);
+    }
+
+    public void adicionar(String valor) {
+        var hash = hash(valor);
+        var hash1 = (int) hash;
+        var hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            var bit = posicao(hash1 + i * hash2);
+            bits.getAndAccumulate(bit >>> 6, 1L << bit, (atual, mascara) -> atual | mascara);
+        }
+    }
+
+    public boolean podeConter(String valor) {
+        var hash = hash(valor);
+        var hash1 = (int) hash;
+        var hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            var bit = posicao(hash1 + i * hash2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    private int posicao(int hashCombinado) {
+        return (hashCombinado & Integer.MAX_VALUE) % quantidadeBits;
+    }
+
+    // FNV-1a de 64 bits seguido da finalização do MurmurHash3, para espalhar bem as duas metades usadas no hash duplo
+    private static long hash(String valor) {
+        var hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
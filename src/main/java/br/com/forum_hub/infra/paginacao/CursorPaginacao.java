@@ -0,0 +1,31 @@
+package br.com.forum_hub.infra.paginacao;
+
+import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record CursorPaginacao(LocalDateTime dataCriacao, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        var valor = dataCriacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacao decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separador = valor.indexOf(SEPARADOR);
+            return new CursorPaginacao(LocalDateTime.parse(valor.substring(0, separador)), Long.valueOf(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new RegraDeNegocioException("Cursor de paginação inválido!");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.forum_hub.infra.paginacao;
+
+import java.util.List;
+
+public record DadosPaginaCursor<T>(List<T> conteudo, String proximoCursor) {
+}
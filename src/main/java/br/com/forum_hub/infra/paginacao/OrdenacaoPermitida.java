@@ -0,0 +1,18 @@
+package br.com.forum_hub.infra.paginacao;
+
+import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+public class OrdenacaoPermitida {
+
+    // só aceita ordenações que têm índice correspondente, para o cliente não conseguir forçar um filesort na tabela inteira
+    public static Pageable validar(Pageable paginacao, Set<String> propriedades) {
+        for (var ordem : paginacao.getSort()) {
+            if (!propriedades.contains(ordem.getProperty()))
+                throw new RegraDeNegocioException("Ordenação não permitida: " + ordem.getProperty() + ". Use uma destas: " + propriedades);
+        }
+        return paginacao;
+    }
+}
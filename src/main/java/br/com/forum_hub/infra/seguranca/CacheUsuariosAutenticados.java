@@ -0,0 +1,57 @@
+package br.com.forum_hub.infra.seguranca;
+
+import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.memoria.CarregamentoCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+@Component
+public class CacheUsuariosAutenticados {
+
+    private final AsyncCache<String, Usuario> cache;
+
+    public CacheUsuariosAutenticados(@Value("${forumhub.cache.usuarios.tamanho-maximo}") long tamanhoMaximo,
+                                     @Value("${forumhub.cache.usuarios.expiracao}") Duration expiracao,
+                                     MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "usuarios-autenticados");
+    }
+
+    public Usuario buscar(String email, Function<String, Usuario> carregador) {
+        return CarregamentoCache.buscar(cache, chave(email), carregador);
+    }
+
+    public void invalidar(Usuario usuario) {
+        var chave = chave(usuario.getUsername());
+        cache.synchronous().invalidate(chave);
+
+        // invalida de novo após o commit para não manter uma versão lida antes da alteração ser gravada
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(chave);
+                }
+            });
+        }
+    }
+
+    private String chave(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.forum_hub.infra.seguranca;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -33,9 +35,11 @@ public class ConfiguracoesSeguranca {
                             req.requestMatchers("/login", "/atualizar-token", "/registrar", "/verificar-conta").permitAll();
 
                             req.requestMatchers(HttpMethod.GET, "/cursos").permitAll();
+                            req.requestMatchers(HttpMethod.GET, "/usuarios/disponivel").permitAll();
                             req.requestMatchers(HttpMethod.GET, "/topicos/**").permitAll();
+                            req.requestMatchers(HttpMethod.GET, "/ranking/**").permitAll();
 
-                            req.requestMatchers(HttpMethod.POST, "/topicos").hasRole("ESTUDANTE");
+                            req.requestMatchers(HttpMethod.POST, "/topicos", "/topicos/batch").hasRole("ESTUDANTE");
                             req.requestMatchers(HttpMethod.PUT, "/topicos").hasRole("ESTUDANTE");
                             req.requestMatchers(HttpMethod.DELETE, "/topicos/**").hasRole("ESTUDANTE");
 
@@ -45,6 +49,7 @@ public class ConfiguracoesSeguranca {
 
                             req.requestMatchers(HttpMethod.PATCH, "/adicionar-perfil/**").hasRole("ADMIN");
                             req.requestMatchers(HttpMethod.PATCH, "/reativar-conta/**").hasRole("ADMIN");
+                            req.requestMatchers("/admin/**").hasRole("ADMIN");
 
                             req.anyRequest().authenticated();
                         }
@@ -53,13 +58,16 @@ public class ConfiguracoesSeguranca {
                         sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS
                         ))
                 .csrf(csrf -> csrf.disable())
+                .logout(logout -> logout.disable())
                 .addFilterBefore(filtroTokenAcesso, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
     @Bean
-    public PasswordEncoder encriptador() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder encriptador(@Value("${forumhub.senhas.threads}") int threads,
+                                       @Value("${forumhub.senhas.fila}") int tamanhoFila,
+                                       MeterRegistry registry) {
+        return new EncriptadorSenhas(new BCryptPasswordEncoder(), threads, tamanhoFila, registry);
     }
 
     @Bean
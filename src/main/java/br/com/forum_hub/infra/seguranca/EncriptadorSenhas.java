@@ -0,0 +1,82 @@
+package br.com.forum_hub.infra.seguranca;
+
+import br.com.forum_hub.infra.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EncriptadorSenhas implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder encriptador;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer tempoHash;
+
+    private final Counter recusas;
+
+    public EncriptadorSenhas(PasswordEncoder encriptador, int threads, int tamanhoFila, MeterRegistry registry) {
+        this.encriptador = encriptador;
+
+        var contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                tarefa -> {
+                    var thread = new Thread(tarefa, "encriptador-senhas-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoHash = Timer.builder("forumhub.senhas.hash").register(registry);
+        this.recusas = Counter.builder("forumhub.senhas.recusadas").register(registry);
+        Gauge.builder("forumhub.senhas.fila", executor, e -> e.getQueue().size()).register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> encriptador.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String senhaCriptografada) {
+        return executar(() -> encriptador.matches(senha, senhaCriptografada));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String senhaCriptografada) {
+        return encriptador.upgradeEncoding(senhaCriptografada);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> operacao) {
+        // o BCrypt roda num pool limitado; com a fila cheia a operação é recusada na hora em vez de esperar
+        try {
+            return executor.submit(() -> tempoHash.recordCallable(operacao)).get();
+        } catch (RejectedExecutionException e) {
+            recusas.increment();
+            throw new ServicoSobrecarregadoException("Servidor ocupado, tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicoSobrecarregadoException("Operação interrompida, tente novamente.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
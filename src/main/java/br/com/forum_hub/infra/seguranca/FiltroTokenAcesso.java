@@ -1,5 +1,6 @@
 package br.com.forum_hub.infra.seguranca;
 
+import br.com.forum_hub.domain.autenticacao.DadosTokenAcesso;
 import br.com.forum_hub.domain.autenticacao.TokenService;
 import br.com.forum_hub.domain.usuario.Usuario;
 import br.com.forum_hub.domain.usuario.UsuarioRepository;
@@ -7,6 +8,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,9 +24,16 @@ public class FiltroTokenAcesso extends OncePerRequestFilter {
 
     private final UsuarioRepository usuarioRepository;
 
-    public FiltroTokenAcesso(TokenService tokenService, UsuarioRepository usuarioRepository) {
+    private final CacheUsuariosAutenticados cacheUsuarios;
+
+    private final boolean principalStateless;
+
+    public FiltroTokenAcesso(TokenService tokenService, UsuarioRepository usuarioRepository, CacheUsuariosAutenticados cacheUsuarios,
+                             @Value("${forumhub.seguranca.token.stateless}") boolean principalStateless) {
         this.tokenService = tokenService;
         this.usuarioRepository = usuarioRepository;
+        this.cacheUsuarios = cacheUsuarios;
+        this.principalStateless = principalStateless;
     }
 
     @Override
@@ -34,8 +43,8 @@ public class FiltroTokenAcesso extends OncePerRequestFilter {
 
         if (token != null) {
             // validação do token
-            String email = tokenService.verificarToken(token);
-            Usuario usuario = usuarioRepository.findByEmailIgnoreCaseAndVerificadoTrue(email).orElseThrow();
+            var dadosToken = tokenService.verificarTokenAcesso(token);
+            Usuario usuario = recuperarUsuario(dadosToken);
 
             Authentication authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
 
@@ -45,6 +54,16 @@ public class FiltroTokenAcesso extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Usuario recuperarUsuario(DadosTokenAcesso dadosToken) {
+        // no modo stateless o principal é montado só com as claims, sem acessar o banco
+        if (principalStateless && dadosToken.possuiDadosUsuario()) {
+            return new Usuario(dadosToken.id(), dadosToken.email(), dadosToken.nomeUsuario(), dadosToken.perfis());
+        }
+
+        return cacheUsuarios.buscar(dadosToken.email(),
+                chave -> usuarioRepository.buscarVerificadoPeloEmail(chave).orElseThrow());
+    }
+
     private String recuperarTokenRequisicao(HttpServletRequest request) {
         var authorizationHeader = request.getHeader("Authorization");
 
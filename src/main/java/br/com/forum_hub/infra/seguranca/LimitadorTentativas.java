@@ -0,0 +1,114 @@
+package br.com.forum_hub.infra.seguranca;
+
+import br.com.forum_hub.infra.exception.LimiteTentativasException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Component
+public class LimitadorTentativas {
+
+    private final Cache<String, Balde> baldes;
+
+    private final Limite limiteIp;
+
+    private final Limite limiteConta;
+
+    private final Counter bloqueios;
+
+    // o IP vem de request.getRemoteAddr(), que já é o do cliente quando server.forward-headers-strategy confia no proxy
+    public LimitadorTentativas(@Value("${forumhub.limite-tentativas.ip.capacidade}") int capacidadeIp,
+                               @Value("${forumhub.limite-tentativas.ip.por-minuto}") int porMinutoIp,
+                               @Value("${forumhub.limite-tentativas.conta.capacidade}") int capacidadeConta,
+                               @Value("${forumhub.limite-tentativas.conta.por-minuto}") int porMinutoConta,
+                               @Value("${forumhub.limite-tentativas.chaves}") long maximoChaves,
+                               MeterRegistry registry) {
+        this.limiteIp = new Limite(capacidadeIp, porMinutoIp);
+        this.limiteConta = new Limite(capacidadeConta, porMinutoConta);
+        // o mapa do Caffeine é particionado internamente e cada balde tem o próprio lock, então IPs e emails diferentes não disputam entre si
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.bloqueios = Counter.builder("forumhub.tentativas.bloqueadas").register(registry);
+    }
+
+    public void verificar(String ip) {
+        if (!balde("ip:" + ip, limiteIp).consumir())
+            bloquear();
+    }
+
+    // a conta só perde fichas com senha errada: logins certos não contam e não dá para bloquear alguém só enviando o email dele
+    public void verificar(String ip, String email) {
+        verificar(ip);
+
+        var balde = baldes.getIfPresent(chaveConta(email));
+        if (balde != null && !balde.disponivel())
+            bloquear();
+    }
+
+    public void registrarFalha(String email) {
+        balde(chaveConta(email), limiteConta).consumir();
+    }
+
+    public void registrarSucesso(String email) {
+        baldes.invalidate(chaveConta(email));
+    }
+
+    private Balde balde(String chave, Limite limite) {
+        return baldes.get(chave, c -> new Balde(limite));
+    }
+
+    private String chaveConta(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private void bloquear() {
+        bloqueios.increment();
+        throw new LimiteTentativasException("Muitas tentativas, aguarde um momento e tente novamente.");
+    }
+
+    private record Limite(int capacidade, double recargaPorNano) {
+        Limite(int capacidade, int porMinuto) {
+            this(capacidade, porMinuto / (double) Duration.ofMinutes(1).toNanos());
+        }
+    }
+
+    private static class Balde {
+        private final Limite limite;
+        private double fichas;
+        private long ultimaRecarga;
+
+        Balde(Limite limite) {
+            this.limite = limite;
+            this.fichas = limite.capacidade();
+            this.ultimaRecarga = System.nanoTime();
+        }
+
+        synchronized boolean disponivel() {
+            recarregar();
+            return fichas >= 1;
+        }
+
+        synchronized boolean consumir() {
+            recarregar();
+            if (fichas < 1)
+                return false;
+
+            fichas--;
+            return true;
+        }
+
+        private void recarregar() {
+            var agora = System.nanoTime();
+            fichas = Math.min(limite.capacidade(), fichas + (agora - ultimaRecarga) * limite.recargaPorNano());
+            ultimaRecarga = agora;
+        }
+    }
+}
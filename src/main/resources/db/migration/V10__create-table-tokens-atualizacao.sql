@@ -0,0 +1,9 @@
+CREATE TABLE tokens_atualizacao(
+    jti VARCHAR(36) NOT NULL PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    expiracao TIMESTAMP NOT NULL,
+    revogado BOOLEAN NOT NULL DEFAULT FALSE,
+
+    CONSTRAINT fk_usuario_token_atualizacao FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE,
+    INDEX idx_tokens_atualizacao_usuario (usuario_id, revogado)
+);
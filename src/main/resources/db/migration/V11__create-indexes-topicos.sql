@@ -0,0 +1,6 @@
+CREATE INDEX idx_topicos_listagem ON topicos (aberto, data_criacao, id);
+CREATE INDEX idx_topicos_listagem_curso ON topicos (aberto, curso_id, data_criacao, id);
+CREATE INDEX idx_topicos_listagem_categoria ON topicos (aberto, categoria, data_criacao, id);
+CREATE INDEX idx_topicos_listagem_status ON topicos (aberto, status, data_criacao, id);
+CREATE INDEX idx_topicos_listagem_curso_status ON topicos (aberto, curso_id, status, data_criacao, id);
+CREATE INDEX idx_topicos_listagem_categoria_status ON topicos (aberto, categoria, status, data_criacao, id);
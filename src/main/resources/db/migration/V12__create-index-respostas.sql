@@ -0,0 +1 @@
+CREATE INDEX idx_respostas_topico ON respostas (topico_id, data_criacao, id);
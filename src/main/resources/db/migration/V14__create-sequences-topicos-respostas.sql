@@ -0,0 +1,18 @@
+CREATE TABLE topicos_seq (
+    next_val BIGINT NOT NULL
+);
+
+CREATE TABLE respostas_seq (
+    next_val BIGINT NOT NULL
+);
+
+-- o otimizador pooled do Hibernate reserva os 50 ids anteriores ao valor lido, então o valor inicial fica acima do maior id existente
+INSERT INTO topicos_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM topicos;
+INSERT INTO respostas_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM respostas;
+
+-- sem AUTO_INCREMENT um INSERT sem id falha na hora, em vez de ocupar um id que a sequência ainda vai entregar;
+-- as FKs de respostas e topicos apontam para essas colunas e o MySQL só aceita o MODIFY com a checagem desligada
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE topicos MODIFY id BIGINT NOT NULL;
+ALTER TABLE respostas MODIFY id BIGINT NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
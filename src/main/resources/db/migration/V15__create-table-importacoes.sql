@@ -0,0 +1,5 @@
+CREATE TABLE importacoes (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    linhas_processadas BIGINT NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
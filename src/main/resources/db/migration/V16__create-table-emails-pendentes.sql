@@ -0,0 +1,12 @@
+CREATE TABLE emails_pendentes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    destinatario VARCHAR(100) NOT NULL,
+    assunto VARCHAR(255) NOT NULL,
+    conteudo TEXT NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    proxima_tentativa TIMESTAMP(6) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    ultimo_erro VARCHAR(500)
+);
+
+CREATE INDEX idx_emails_pendentes_envio ON emails_pendentes (proxima_tentativa);
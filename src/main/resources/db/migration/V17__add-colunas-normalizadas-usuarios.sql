@@ -0,0 +1,6 @@
+ALTER TABLE usuarios
+    ADD COLUMN email_normalizado VARCHAR(100) GENERATED ALWAYS AS (LOWER(email)) STORED,
+    ADD COLUMN nome_usuario_normalizado VARCHAR(100) GENERATED ALWAYS AS (LOWER(nome_usuario)) STORED;
+
+CREATE UNIQUE INDEX uk_usuarios_email_normalizado ON usuarios (email_normalizado);
+CREATE UNIQUE INDEX uk_usuarios_nome_usuario_normalizado ON usuarios (nome_usuario_normalizado);
@@ -0,0 +1,11 @@
+ALTER TABLE usuarios
+    ADD COLUMN quantidade_topicos INT NOT NULL DEFAULT 0,
+    ADD COLUMN quantidade_respostas INT NOT NULL DEFAULT 0,
+    ADD COLUMN quantidade_solucoes INT NOT NULL DEFAULT 0;
+
+UPDATE usuarios u
+    LEFT JOIN (SELECT autor_id, COUNT(*) AS quantidade FROM topicos GROUP BY autor_id) t ON t.autor_id = u.id
+    LEFT JOIN (SELECT autor_id, COUNT(*) AS quantidade, SUM(solucao = TRUE) AS solucoes FROM respostas GROUP BY autor_id) r ON r.autor_id = u.id
+SET u.quantidade_topicos = COALESCE(t.quantidade, 0),
+    u.quantidade_respostas = COALESCE(r.quantidade, 0),
+    u.quantidade_solucoes = COALESCE(r.solucoes, 0);
@@ -0,0 +1,5 @@
+ALTER TABLE respostas
+    ADD COLUMN data_solucao TIMESTAMP NULL;
+
+-- a data real da marcação não existia; para as soluções antigas vale a data da própria resposta
+UPDATE respostas SET data_solucao = data_criacao WHERE solucao = TRUE;
@@ -0,0 +1,3 @@
+-- separa o token usado na rotação do token revogado no logout: reapresentar um consumido é reuso e derruba a família
+ALTER TABLE tokens_atualizacao
+    ADD COLUMN consumido BOOLEAN NOT NULL DEFAULT FALSE;
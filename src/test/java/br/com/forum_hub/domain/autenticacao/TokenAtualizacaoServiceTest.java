@@ -0,0 +1,65 @@
+package br.com.forum_hub.domain.autenticacao;
+
+import br.com.forum_hub.domain.perfil.PerfilNome;
+import br.com.forum_hub.domain.usuario.Usuario;
+import br.com.forum_hub.infra.exception.RegraDeNegocioException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TokenAtualizacaoServiceTest {
+
+    @Autowired
+    private TokenAtualizacaoService service;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokensRevogados tokensRevogados;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void criarUsuario() {
+        var sufixo = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO usuarios (email, senha, nome_completo, nome_usuario) VALUES (?, 'x', 'Teste Reuso', ?)",
+                sufixo + "@teste.com", "reuso-" + sufixo);
+        var id = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE email = ?", Long.class, sufixo + "@teste.com");
+        usuario = new Usuario(id, sufixo + "@teste.com", "reuso-" + sufixo, List.of(PerfilNome.ESTUDANTE));
+    }
+
+    @AfterEach
+    void apagarUsuario() {
+        jdbcTemplate.update("DELETE FROM usuarios WHERE id = ?", usuario.getId());
+    }
+
+    @Test
+    void reusoNaMesmaInstanciaRevogaOsOutrosTokensDoUsuario() {
+        var reutilizado = service.emitir(usuario);
+        var outroDispositivo = service.emitir(usuario);
+
+        service.consumir(reutilizado);
+        // o jti consumido já está na memória, então o reuso é detectado sem chegar ao UPDATE no banco
+        assertEquals(TokensRevogados.Situacao.CONSUMIDO, tokensRevogados.situacao(tokenService.verificarRefreshToken(reutilizado).jti()));
+
+        assertThrows(RegraDeNegocioException.class, () -> service.consumir(reutilizado));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tokens_atualizacao WHERE usuario_id = ? AND revogado = FALSE",
+                Integer.class, usuario.getId()));
+        assertThrows(RegraDeNegocioException.class, () -> service.consumir(outroDispositivo));
+    }
+}
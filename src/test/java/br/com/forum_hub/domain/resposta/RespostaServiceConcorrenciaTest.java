@@ -0,0 +1,94 @@
+package br.com.forum_hub.domain.resposta;
+
+import br.com.forum_hub.domain.perfil.PerfilNome;
+import br.com.forum_hub.domain.topico.DadosCadastroTopico;
+import br.com.forum_hub.domain.topico.TopicoService;
+import br.com.forum_hub.domain.usuario.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// roda no mesmo MySQL dos outros testes: o que está sendo provado é o comportamento dos locks do InnoDB
+@SpringBootTest
+class RespostaServiceConcorrenciaTest {
+
+    private static final int RESPOSTAS = 200;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RespostaService service;
+
+    @Autowired
+    private TopicoService topicoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario autor;
+    private Long idUsuario;
+    private Long idCurso;
+    private Long idTopico;
+
+    @BeforeEach
+    void criarTopico() {
+        var sufixo = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO usuarios (email, senha, nome_completo, nome_usuario) VALUES (?, 'x', 'Teste Concorrência', ?)",
+                sufixo + "@teste.com", "concorrencia-" + sufixo);
+        idUsuario = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE email = ?", Long.class, sufixo + "@teste.com");
+
+        jdbcTemplate.update("INSERT INTO cursos (nome, categoria) VALUES (?, 'PROGRAMACAO')", "Curso concorrência " + sufixo);
+        idCurso = jdbcTemplate.queryForObject("SELECT id FROM cursos WHERE nome = ?", Long.class, "Curso concorrência " + sufixo);
+
+        // pelo serviço: o id precisa vir da sequência de tópicos, não do AUTO_INCREMENT
+        autor = new Usuario(idUsuario, sufixo + "@teste.com", "concorrencia-" + sufixo, List.of(PerfilNome.ESTUDANTE));
+        idTopico = topicoService.cadastrar(new DadosCadastroTopico("Tópico concorrido", "Mensagem", idCurso), autor).getId();
+    }
+
+    @AfterEach
+    void apagarTopico() {
+        jdbcTemplate.update("DELETE FROM topicos WHERE id = ?", idTopico);
+        jdbcTemplate.update("DELETE FROM cursos WHERE id = ?", idCurso);
+        jdbcTemplate.update("DELETE FROM usuarios WHERE id = ?", idUsuario);
+    }
+
+    @Test
+    void respostasSimultaneasNaoPerdemIncrementos() throws Exception {
+        var largada = new CountDownLatch(1);
+
+        List<Callable<Resposta>> cadastros = IntStream.range(0, RESPOSTAS)
+                .<Callable<Resposta>>mapToObj(i -> () -> {
+                    largada.await();
+                    return service.cadastrar(new DadosCadastroResposta("Resposta " + i), idTopico, autor);
+                })
+                .toList();
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            var resultados = cadastros.stream().map(executor::submit).toList();
+            largada.countDown();
+            for (var resultado : resultados)
+                resultado.get();
+        }
+
+        var topico = jdbcTemplate.queryForMap("SELECT quantidade_respostas, status FROM topicos WHERE id = ?", idTopico);
+        assertEquals(RESPOSTAS, ((Number) topico.get("quantidade_respostas")).intValue());
+        assertEquals("RESPONDIDO", topico.get("status"));
+        assertEquals(RESPOSTAS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM respostas WHERE topico_id = ?", Integer.class, idTopico));
+
+        // todas as respostas são do mesmo autor, então a linha dele em usuarios também é disputada pelas threads
+        var contadores = jdbcTemplate.queryForMap("SELECT quantidade_topicos, quantidade_respostas FROM usuarios WHERE id = ?", idUsuario);
+        assertEquals(1, ((Number) contadores.get("quantidade_topicos")).intValue());
+        assertEquals(RESPOSTAS, ((Number) contadores.get("quantidade_respostas")).intValue());
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.forum_hub.domain.topico;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// roda EXPLAIN sobre o SQL que o Hibernate gera para a listagem, num schema próprio com massa suficiente para o
+// otimizador escolher o plano de produção; com a tabela quase vazia o MySQL prefere varrer e ordenar em memória
+@SpringBootTest(properties = "spring.datasource.url=jdbc:mysql://localhost/forum_hub_teste_indices?createDatabaseIfNotExist=true&rewriteBatchedStatements=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TopicoIndicesTest {
+
+    private static final int QUANTIDADE_TOPICOS = 20_000;
+    private static final int ALOCACAO_SEQUENCIA = 50;
+    private static final String[] CATEGORIAS = {"PROGRAMACAO", "IA", "FRONTEND", "DADOS", "INOVACAO", "MARKETING", "DESIGN"};
+    private static final String[] STATUS = {"NAO_RESPONDIDO", "RESPONDIDO", "RESOLVIDO"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TopicoRepository repository;
+
+    @Autowired
+    private CapturaSql capturaSql;
+
+    private Long idCurso;
+
+    @BeforeAll
+    void cadastrarTopicos() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM topicos", Long.class) < QUANTIDADE_TOPICOS) {
+            jdbcTemplate.update("INSERT IGNORE INTO usuarios (email, senha, nome_completo, nome_usuario) VALUES ('indices@forumhub.com', 'senha', 'Teste Índices', 'teste_indices')");
+            for (var i = 0; i < CATEGORIAS.length * 3; i++)
+                jdbcTemplate.update("INSERT IGNORE INTO cursos (nome, categoria) VALUES (?, ?)", "Curso " + i, CATEGORIAS[i % CATEGORIAS.length]);
+
+            var idAutor = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE nome_usuario = 'teste_indices'", Long.class);
+            var cursos = jdbcTemplate.queryForList("SELECT id, categoria FROM cursos ORDER BY id");
+            var inicio = LocalDateTime.now().minusDays(QUANTIDADE_TOPICOS);
+
+            // topicos.id não tem AUTO_INCREMENT: reserva os ids na sequência com a mesma conta do ImportacaoService
+            var proximoValor = jdbcTemplate.queryForObject("SELECT next_val FROM topicos_seq", Long.class);
+            jdbcTemplate.update("UPDATE topicos_seq SET next_val = next_val + ?", QUANTIDADE_TOPICOS);
+            var primeiroId = proximoValor - ALOCACAO_SEQUENCIA + 1;
+
+            var linhas = new ArrayList<Object[]>(QUANTIDADE_TOPICOS);
+            for (var i = 0; i < QUANTIDADE_TOPICOS; i++) {
+                var curso = cursos.get(i % cursos.size());
+                linhas.add(new Object[]{primeiroId + i, "Tópico " + i, "Mensagem " + i, idAutor, curso.get("categoria"), Timestamp.valueOf(inicio.plusMinutes(i)),
+                        STATUS[i % STATUS.length], i % 10 != 0, curso.get("id")});
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO topicos (id, titulo, mensagem, autor_id, categoria, data_criacao, status, aberto, quantidade_respostas, curso_id)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)
+                    """, linhas);
+            jdbcTemplate.execute("ANALYZE TABLE topicos");
+        }
+        idCurso = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cursos WHERE categoria = 'PROGRAMACAO'", Long.class);
+    }
+
+    static Stream<Arguments> combinacoesFiltros() {
+        var combinacoes = new ArrayList<Arguments>();
+        for (var comCurso : new boolean[]{false, true})
+            for (var categoria : new String[]{null, "PROGRAMACAO"})
+                for (var status : new Status[]{null, Status.NAO_RESPONDIDO, Status.RESOLVIDO})
+                    for (var direcao : Sort.Direction.values())
+                        combinacoes.add(Arguments.of(comCurso, categoria, status, direcao));
+        return combinacoes.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("combinacoesFiltros")
+    void listagemUsaIndiceSemFilesort(boolean comCurso, String categoria, Status status, Sort.Direction direcao) {
+        var curso = comCurso ? idCurso : null;
+        var filtro = new FiltroTopicos(categoria, curso, status == Status.NAO_RESPONDIDO, status == Status.RESOLVIDO);
+        var paginacao = PageRequest.of(0, 10, Sort.by(direcao, "dataCriacao"));
+
+        capturaSql.comandos.clear();
+        repository.listarDadosListagem(filtro.especificacao(), paginacao, paginacao.getPageSize());
+        assertEquals(1, capturaSql.comandos.size(), "Consultas inesperadas: " + capturaSql.comandos);
+        var sql = capturaSql.comandos.getFirst();
+
+        // parâmetros na ordem em que FiltroTopicos monta a especificação, seguidos do limit
+        var parametros = new ArrayList<Object>();
+        if (categoria != null)
+            parametros.add(categoria);
+        if (curso != null)
+            parametros.add(curso);
+        if (status != null)
+            parametros.add(status.name());
+        parametros.add(paginacao.getPageSize());
+        assertEquals(parametros.size(), sql.chars().filter(c -> c == '?').count(), "Parâmetros diferentes do esperado: " + sql);
+
+        var plano = jdbcTemplate.queryForList("EXPLAIN " + sql, parametros.toArray());
+        var topicos = plano.getFirst();
+
+        assertEquals("topicos", tabelaReal(sql, (String) topicos.get("table")), "O plano não começa por topicos: " + plano);
+        assertTrue(indicesEsperados(curso, categoria, status).contains(topicos.get("key")), "Índice inesperado: " + plano);
+        assertFalse(plano.stream().map(linha -> String.valueOf(linha.get("Extra"))).anyMatch(extra -> extra.contains("Using filesort")),
+                "Ordenação fora do índice: " + plano);
+    }
+
+    // o Hibernate usa aliases como t1_0; o EXPLAIN mostra o alias e não o nome da tabela
+    private static String tabelaReal(String sql, String alias) {
+        var matcher = Pattern.compile("(\\w+) " + alias + "\\b").matcher(sql);
+        return matcher.find() ? matcher.group(1) : alias;
+    }
+
+    private static Set<String> indicesEsperados(Long curso, String categoria, Status status) {
+        var indices = new HashSet<String>();
+        var sufixoStatus = status == null ? "" : "_status";
+        if (curso != null)
+            indices.add("idx_topicos_listagem_curso" + sufixoStatus);
+        if (categoria != null)
+            indices.add("idx_topicos_listagem_categoria" + sufixoStatus);
+        if (indices.isEmpty())
+            indices.add(status == null ? "idx_topicos_listagem" : "idx_topicos_listagem_status");
+        return indices;
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        CapturaSql capturaSql() {
+            return new CapturaSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer inspetorSql(CapturaSql capturaSql) {
+            return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, capturaSql);
+        }
+    }
+
+    static class CapturaSql implements StatementInspector {
+
+        private final List<String> comandos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            comandos.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.forum_hub.domain.usuario;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// roda EXPLAIN sobre o SQL que o Hibernate gera para as buscas do UsuarioRepository, num schema próprio para não
+// escrever na tabela de usuarios da aplicação
+@SpringBootTest(properties = "spring.datasource.url=jdbc:mysql://localhost/forum_hub_teste_usuarios?createDatabaseIfNotExist=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UsuarioIndicesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private CapturaSql capturaSql;
+
+    // com a tabela sem a linha procurada o MySQL resolve a busca por chave única já no EXPLAIN e não mostra o índice
+    @BeforeAll
+    void cadastrarUsuario() {
+        jdbcTemplate.update("INSERT IGNORE INTO usuarios (email, senha, nome_completo, nome_usuario, verificado, ativo) VALUES (?, ?, ?, ?, TRUE, TRUE)",
+                "explain@forumhub.com", "senha", "Teste Explain", "explain_usuario");
+    }
+
+    static Stream<Arguments> buscasPorColunaNormalizada() {
+        return Stream.of(
+                Arguments.of("buscarVerificadoPeloEmail", busca(UsuarioRepository::buscarVerificadoPeloEmail),
+                        "EXPLAIN@ForumHub.com", "uk_usuarios_email_normalizado"),
+                Arguments.of("existeComEmail", busca(UsuarioRepository::existeComEmail),
+                        "Explain@FORUMHUB.COM", "uk_usuarios_email_normalizado"),
+                Arguments.of("buscarAtivoPeloNomeUsuario", busca(UsuarioRepository::buscarAtivoPeloNomeUsuario),
+                        "EXPLAIN_USUARIO", "uk_usuarios_nome_usuario_normalizado"),
+                Arguments.of("existeComNomeUsuario", busca(UsuarioRepository::existeComNomeUsuario),
+                        "Explain_Usuario", "uk_usuarios_nome_usuario_normalizado"));
+    }
+
+    private static BiConsumer<UsuarioRepository, String> busca(BiConsumer<UsuarioRepository, String> busca) {
+        return busca;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("buscasPorColunaNormalizada")
+    void buscaSemDistincaoDeMaiusculasUsaIndiceUnico(String metodo, BiConsumer<UsuarioRepository, String> busca, String valor, String indice) {
+        capturaSql.comandos.clear();
+        busca.accept(repository, valor);
+
+        // o primeiro comando é a busca em usuarios; os seguintes, se houver, carregam os perfis do usuário encontrado
+        assertFalse(capturaSql.comandos.isEmpty(), "Nenhuma consulta capturada para " + metodo);
+        var sql = capturaSql.comandos.getFirst();
+        assertEquals(1, sql.chars().filter(c -> c == '?').count(), "Parâmetros diferentes do esperado: " + sql);
+
+        var plano = jdbcTemplate.queryForMap("EXPLAIN " + sql, valor);
+
+        assertFalse("ALL".equals(plano.get("type")), "Varredura completa em usuarios: " + plano);
+        assertEquals(indice, plano.get("key"), "Índice inesperado: " + plano);
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        CapturaSql capturaSql() {
+            return new CapturaSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer inspetorSql(CapturaSql capturaSql) {
+            return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, capturaSql);
+        }
+    }
+
+    static class CapturaSql implements StatementInspector {
+
+        private final List<String> comandos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            comandos.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.forum_hub.infra.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// SMTP em processo (GreenMail) no lugar do Gmail; o despachante é chamado direto em vez de esperar o @Scheduled.
+// o despachante pega qualquer linha da fila, então o teste roda num schema próprio para não enviar nem apagar emails reais
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mysql://localhost/forum_hub_teste_emails?createDatabaseIfNotExist=true&rewriteBatchedStatements=true",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=forumhub@teste.com",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "forumhub.emails.intervalo=PT1H"
+})
+class DespachanteEmailsTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private DespachanteEmails despachante;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void limparFila() {
+        jdbcTemplate.update("DELETE FROM emails_pendentes");
+    }
+
+    @Test
+    void emailSoSaiDaFilaDepoisDeEnviado() throws Exception {
+        transacao.executeWithoutResult(status -> {
+            emailService.enviarEmail("um@teste.com", "Assunto 1", "<b>Olá</b>");
+            emailService.enviarEmail("dois@teste.com", "Assunto 2", "<b>Olá</b>");
+        });
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM emails_pendentes", Integer.class));
+        assertEquals(0, smtp.getReceivedMessages().length);
+
+        despachante.despachar();
+
+        var recebidos = smtp.getReceivedMessages();
+        assertEquals(2, recebidos.length);
+        assertEquals("forumhub@teste.com", ((InternetAddress) recebidos[0].getFrom()[0]).getAddress());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM emails_pendentes", Integer.class));
+    }
+
+    @Test
+    void emailDescartadoNoRollbackNaoEhEnviado() {
+        transacao.executeWithoutResult(status -> {
+            emailService.enviarEmail("um@teste.com", "Assunto", "Conteúdo");
+            status.setRollbackOnly();
+        });
+
+        despachante.despachar();
+
+        assertEquals(0, smtp.getReceivedMessages().length);
+    }
+}